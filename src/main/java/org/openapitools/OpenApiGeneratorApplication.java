@@ -1,6 +1,7 @@
 package org.openapitools;
 
 import com.fasterxml.jackson.databind.Module;
+import org.openapitools.jackson.Rfc3339Module;
 import org.openapitools.jackson.nullable.JsonNullableModule;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -27,4 +28,9 @@ public class OpenApiGeneratorApplication {
         return new JsonNullableModule();
     }
 
+    @Bean(name = "org.openapitools.OpenApiGeneratorApplication.rfc3339Module")
+    public Module rfc3339Module() {
+        return new Rfc3339Module();
+    }
+
 }
\ No newline at end of file
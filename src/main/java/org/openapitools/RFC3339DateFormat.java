@@ -1,38 +1,50 @@
 package org.openapitools;
 
-import com.fasterxml.jackson.databind.util.StdDateFormat;
+import org.openapitools.jackson.Rfc3339;
 
 import java.text.DateFormat;
 import java.text.FieldPosition;
+import java.text.NumberFormat;
 import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
+/**
+ * {@link DateFormat} facade over the stateless {@link Rfc3339} codec. Jackson clones the
+ * configured date format for every call and this class returns itself from {@link #clone()}, so
+ * it must not keep any per-call state.
+ */
 public class RFC3339DateFormat extends DateFormat {
   private static final long serialVersionUID = 1L;
   private static final TimeZone TIMEZONE_Z = TimeZone.getTimeZone("UTC");
 
-  private final StdDateFormat fmt = new StdDateFormat()
-          .withTimeZone(TIMEZONE_Z)
-          .withColonInTimeZone(true);
-
   public RFC3339DateFormat() {
-    this.calendar = new GregorianCalendar();
+    this.calendar = new GregorianCalendar(TIMEZONE_Z);
+    this.numberFormat = NumberFormat.getIntegerInstance();
   }
 
   @Override
   public Date parse(String source, ParsePosition pos) {
-    return fmt.parse(source, pos);
+    String text = source.substring(pos.getIndex()).trim();
+    try {
+      Date date = new Date(Rfc3339.parseMillis(text));
+      pos.setIndex(source.length());
+      return date;
+    } catch (DateTimeException | NumberFormatException e) {
+      pos.setErrorIndex(pos.getIndex());
+      return null;
+    }
   }
 
   @Override
   public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-    return fmt.format(date, toAppendTo, fieldPosition);
+    return toAppendTo.append(Rfc3339.format(date.getTime()));
   }
 
   @Override
   public Object clone() {
     return this;
   }
-}
\ No newline at end of file
+}
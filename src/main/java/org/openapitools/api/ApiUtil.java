@@ -4,6 +4,8 @@ import org.springframework.web.context.request.NativeWebRequest;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ApiUtil {
     public static void setExampleResponse(NativeWebRequest req, String contentType, String example) {
@@ -18,4 +20,30 @@ public class ApiUtil {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Writes an already encoded body straight to the servlet output stream.
+     */
+    public static void writeResponse(HttpServletResponse res, String contentType, byte[] body) {
+        try {
+            res.setContentType(contentType);
+            res.setContentLength(body.length);
+            res.getOutputStream().write(body);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Builds a body in the {@code ErrorResponse} shape of the contract.
+     */
+    public static Map<String, Object> errorResponse(String errorMessage, String errorDescription) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("errorMessage", errorMessage);
+        data.put("errorDescription", errorDescription);
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("status", "ERROR");
+        error.put("data", data);
+        return error;
+    }
 }
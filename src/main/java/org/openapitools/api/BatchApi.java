@@ -0,0 +1,68 @@
+package org.openapitools.api;
+
+import org.openapitools.model.BatchRequestBody;
+import org.openapitools.model.BatchResponse;
+import org.openapitools.model.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import javax.validation.Valid;
+import java.util.Optional;
+
+@Validated
+@Tag(name = "Batch", description = "APIs for combining several extension calls in one request")
+public interface BatchApi {
+
+    default Optional<NativeWebRequest> getRequest() {
+        return Optional.empty();
+    }
+
+    String PATH_BATCH_POST = "/batch";
+    /**
+     * POST /batch : execute several extension calls in one round trip
+     *
+     * @param batchRequestBody  (required)
+     * @return Ok (status code 200)
+     *         or Bad Request (status code 400)
+     */
+    @Operation(
+        operationId = "batchPost",
+        summary = "execute several extension calls in one round trip",
+        tags = { "Batch" },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Ok", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BatchResponse.class))
+            }),
+            @ApiResponse(responseCode = "400", description = "Bad Request", content = {
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            })
+        },
+        security = {
+            @SecurityRequirement(name = "OAuth2"),
+            @SecurityRequirement(name = "BasicAuth")
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = BatchApi.PATH_BATCH_POST,
+        produces = { "application/json" },
+        consumes = { "application/json" }
+    )
+    default ResponseEntity<BatchResponse> batchPost(
+        @Parameter(name = "BatchRequestBody", description = "", required = true) @Valid @RequestBody BatchRequestBody batchRequestBody
+    ) {
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+
+    }
+
+}
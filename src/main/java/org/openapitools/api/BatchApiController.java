@@ -0,0 +1,44 @@
+package org.openapitools.api;
+
+import org.openapitools.model.BatchRequestBody;
+import org.openapitools.model.BatchResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.NativeWebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.Optional;
+
+@Controller
+@RequestMapping("${openapi.aPIContractForFinancialAcceleratorExtensionPointsInWSO2ISAndAPIM.base-path:/wso2-f5b/OB4/1.0.0}")
+public class BatchApiController implements BatchApi {
+
+    private final NativeWebRequest request;
+    private final ExtensionBatch batch;
+
+    @Autowired
+    public BatchApiController(NativeWebRequest request, ExtensionBatch batch) {
+        this.request = request;
+        this.batch = batch;
+    }
+
+    @Override
+    public Optional<NativeWebRequest> getRequest() {
+        return Optional.ofNullable(request);
+    }
+
+    @Override
+    public ResponseEntity<BatchResponse> batchPost(BatchRequestBody batchRequestBody) {
+        try {
+            return ResponseEntity.ok(batch.execute(batchRequestBody));
+        } catch (ExtensionBatch.InvalidBatchException e) {
+            batch.writeError(request.getNativeResponse(HttpServletResponse.class), e);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+}
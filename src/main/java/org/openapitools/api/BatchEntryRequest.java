@@ -0,0 +1,560 @@
+package org.openapitools.api;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.ReadListener;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpUpgradeHandler;
+import javax.servlet.http.Part;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Request of one {@code /batch} entry: a copy of the batch call's request line, headers,
+ * parameters and attributes taken before the entries are submitted. Entries that are still
+ * running when the batch call has been answered would otherwise read a request the container has
+ * already recycled. The entry body is passed to the handler separately, so the body stream is
+ * empty; sessions, roles, parts and async processing are not available.
+ */
+class BatchEntryRequest implements HttpServletRequest {
+
+    private static final ServletInputStream EMPTY = new ServletInputStream() {
+
+        @Override
+        public boolean isFinished() {
+            return true;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() {
+            return -1;
+        }
+
+    };
+
+    private final Map<String, List<String>> headers;
+    private final Map<String, String[]> parameters;
+    private final Map<String, Object> attributes;
+    private final List<Locale> locales;
+    private final Cookie[] cookies;
+    private final ServletContext servletContext;
+    private final DispatcherType dispatcherType;
+    private final String method;
+    private final String requestUri;
+    private final String requestUrl;
+    private final String contextPath;
+    private final String servletPath;
+    private final String pathInfo;
+    private final String queryString;
+    private final String contentType;
+    private final String protocol;
+    private final String scheme;
+    private final String serverName;
+    private final int serverPort;
+    private final String remoteAddr;
+    private final String remoteHost;
+    private final int remotePort;
+    private final String localName;
+    private final String localAddr;
+    private final int localPort;
+    private final boolean secure;
+    private final String authType;
+    private final String remoteUser;
+    private final Principal userPrincipal;
+    private String characterEncoding;
+
+    /**
+     * Copies everything an entry may read from {@code request}. Must run on the thread that
+     * handles the batch call, while the request is still live.
+     */
+    BatchEntryRequest(HttpServletRequest request) {
+        headers = new LinkedCaseInsensitiveMap<>();
+        for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements(); ) {
+            String name = names.nextElement();
+            headers.put(name, Collections.unmodifiableList(Collections.list(request.getHeaders(name))));
+        }
+        parameters = new LinkedHashMap<>();
+        request.getParameterMap().forEach((name, values) -> parameters.put(name, values.clone()));
+        attributes = new HashMap<>();
+        for (Enumeration<String> names = request.getAttributeNames(); names.hasMoreElements(); ) {
+            String name = names.nextElement();
+            attributes.put(name, request.getAttribute(name));
+        }
+        locales = Collections.unmodifiableList(Collections.list(request.getLocales()));
+        Cookie[] requestCookies = request.getCookies();
+        cookies = requestCookies == null ? null : requestCookies.clone();
+        servletContext = request.getServletContext();
+        dispatcherType = request.getDispatcherType();
+        method = request.getMethod();
+        requestUri = request.getRequestURI();
+        requestUrl = request.getRequestURL().toString();
+        contextPath = request.getContextPath();
+        servletPath = request.getServletPath();
+        pathInfo = request.getPathInfo();
+        queryString = request.getQueryString();
+        contentType = request.getContentType();
+        characterEncoding = request.getCharacterEncoding();
+        protocol = request.getProtocol();
+        scheme = request.getScheme();
+        serverName = request.getServerName();
+        serverPort = request.getServerPort();
+        remoteAddr = request.getRemoteAddr();
+        remoteHost = request.getRemoteHost();
+        remotePort = request.getRemotePort();
+        localName = request.getLocalName();
+        localAddr = request.getLocalAddr();
+        localPort = request.getLocalPort();
+        secure = request.isSecure();
+        authType = request.getAuthType();
+        remoteUser = request.getRemoteUser();
+        userPrincipal = request.getUserPrincipal();
+    }
+
+    private BatchEntryRequest(BatchEntryRequest source) {
+        headers = source.headers;
+        parameters = source.parameters;
+        attributes = new HashMap<>(source.attributes);
+        locales = source.locales;
+        cookies = source.cookies;
+        servletContext = source.servletContext;
+        dispatcherType = source.dispatcherType;
+        method = source.method;
+        requestUri = source.requestUri;
+        requestUrl = source.requestUrl;
+        contextPath = source.contextPath;
+        servletPath = source.servletPath;
+        pathInfo = source.pathInfo;
+        queryString = source.queryString;
+        contentType = source.contentType;
+        characterEncoding = source.characterEncoding;
+        protocol = source.protocol;
+        scheme = source.scheme;
+        serverName = source.serverName;
+        serverPort = source.serverPort;
+        remoteAddr = source.remoteAddr;
+        remoteHost = source.remoteHost;
+        remotePort = source.remotePort;
+        localName = source.localName;
+        localAddr = source.localAddr;
+        localPort = source.localPort;
+        secure = source.secure;
+        authType = source.authType;
+        remoteUser = source.remoteUser;
+        userPrincipal = source.userPrincipal;
+    }
+
+    /**
+     * A copy for one entry, with attributes of its own so that entries running in parallel do
+     * not see each other's.
+     */
+    BatchEntryRequest forEntry() {
+        return new BatchEntryRequest(this);
+    }
+
+    @Override
+    public String getAuthType() {
+        return authType;
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        return cookies == null ? null : cookies.clone();
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cannot parse date header " + name + ": " + value, e);
+        }
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return Collections.enumeration(values == null ? Collections.emptyList() : values);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return pathInfo;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return pathInfo == null ? null : servletContext.getRealPath(pathInfo);
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return remoteUser;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return userPrincipal;
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return null;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        return new StringBuffer(requestUrl);
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        if (create) {
+            throw new IllegalStateException("Batch entries cannot create a session");
+        }
+        return null;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("Batch entries have no session");
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return false;
+    }
+
+    @Override
+    @Deprecated
+    public boolean isRequestedSessionIdFromUrl() {
+        return false;
+    }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) {
+        return userPrincipal != null;
+    }
+
+    @Override
+    public void login(String username, String password) throws ServletException {
+        throw new ServletException("Batch entries cannot log in");
+    }
+
+    @Override
+    public void logout() throws ServletException {
+        throw new ServletException("Batch entries cannot log out");
+    }
+
+    @Override
+    public Collection<Part> getParts() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public Part getPart(String name) {
+        return null;
+    }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) throws ServletException {
+        throw new ServletException("Batch entries cannot be upgraded");
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String env) {
+        characterEncoding = env;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return EMPTY;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String[] values = parameters.get(name);
+        return values == null ? null : values.clone();
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public String getProtocol() {
+        return protocol;
+    }
+
+    @Override
+    public String getScheme() {
+        return scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new StringReader(""));
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return remoteAddr;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return remoteHost;
+    }
+
+    @Override
+    public void setAttribute(String name, Object o) {
+        if (o == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, o);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locales.isEmpty() ? Locale.getDefault() : locales.get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales);
+    }
+
+    @Override
+    public boolean isSecure() {
+        return secure;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return null;
+    }
+
+    @Override
+    @Deprecated
+    public String getRealPath(String path) {
+        return servletContext.getRealPath(path);
+    }
+
+    @Override
+    public int getRemotePort() {
+        return remotePort;
+    }
+
+    @Override
+    public String getLocalName() {
+        return localName;
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return localAddr;
+    }
+
+    @Override
+    public int getLocalPort() {
+        return localPort;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Batch entries cannot be processed asynchronously");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("Batch entries cannot be processed asynchronously");
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("Batch entries cannot be processed asynchronously");
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return dispatcherType;
+    }
+
+}
@@ -0,0 +1,306 @@
+package org.openapitools.api;
+
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Response of one {@code /batch} entry, held entirely in memory. It is not tied to the servlet
+ * response of the batch call, so handlers running in parallel neither share container state nor
+ * leak status, headers or cookies into the batch response; {@link ExtensionBatch} only reads
+ * back the body.
+ */
+class BatchEntryResponse implements HttpServletResponse {
+
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final ServletOutputStream outputStream = new ServletOutputStream() {
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                writeListener.onWritePossible();
+            } catch (IOException e) {
+                writeListener.onError(e);
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            content.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            content.write(b, off, len);
+        }
+
+    };
+    private PrintWriter writer;
+    private String characterEncoding = StandardCharsets.ISO_8859_1.name();
+    private String contentType;
+    private Locale locale = Locale.getDefault();
+    private int status = SC_OK;
+    private boolean committed;
+
+    /**
+     * The body written so far.
+     */
+    byte[] getContentAsByteArray() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return content.toByteArray();
+    }
+
+    int getContentSize() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return content.size();
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        addHeader("Set-Cookie", cookie.getName() + "=" + cookie.getValue());
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeUrl(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeRedirectUrl(String url) {
+        return url;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc) {
+        resetBuffer();
+        status = sc;
+        committed = true;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        resetBuffer();
+        status = SC_FOUND;
+        setHeader("Location", location);
+        committed = true;
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, formatDate(date));
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        List<String> values = new ArrayList<>(1);
+        values.add(value);
+        headers.put(name, values);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        status = sc;
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(int sc, String sm) {
+        status = sc;
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return values == null ? Collections.emptyList() : Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return Collections.unmodifiableSet(headers.keySet());
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, characterEncoding));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        if (writer == null && charset != null) {
+            characterEncoding = charset;
+        }
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setIntHeader("Content-Length", len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        setHeader("Content-Length", Long.toString(len));
+    }
+
+    @Override
+    public void setContentType(String type) {
+        contentType = type;
+        if (type == null) {
+            headers.remove("Content-Type");
+        } else {
+            setHeader("Content-Type", type);
+        }
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+    }
+
+    @Override
+    public int getBufferSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flushBuffer() {
+        committed = true;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        content.reset();
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void reset() {
+        resetBuffer();
+        headers.clear();
+        contentType = null;
+        status = SC_OK;
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        if (loc != null) {
+            locale = loc;
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    private static String formatDate(long date) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC));
+    }
+
+}
@@ -0,0 +1,15 @@
+package org.openapitools.api;
+
+/**
+ * Implemented by the generated models, which check the constraints declared for them in
+ * {@code openapi.yaml} in straight-line code instead of through reflective bean validation.
+ */
+public interface ContractValidated {
+
+    /**
+     * Reports the violated constraints of this instance, and of the nested models the
+     * {@link ContractViolations} asks to descend into, to {@code violations}.
+     */
+    void validateContract(ContractViolations violations);
+
+}
@@ -0,0 +1,122 @@
+package org.openapitools.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the contract violations of one request body, walked by the generated
+ * {@link ContractValidated#validateContract(ContractViolations)} methods.
+ *
+ * <p>A shallow walk checks every object reached through object-typed properties but skips the
+ * elements of arrays and maps, such as the {@code authorizations} and {@code resources} lists of
+ * stored consents. Property paths are only rendered once a violation is reported.</p>
+ */
+public final class ContractViolations {
+
+    private static final String MISSING = "must not be null";
+
+    private final boolean deep;
+    private final List<Object> path = new ArrayList<>();
+    private List<String> messages;
+
+    public ContractViolations(boolean deep) {
+        this.deep = deep;
+    }
+
+    public boolean isDeep() {
+        return deep;
+    }
+
+    public void missing(String property) {
+        add(property, MISSING);
+    }
+
+    /**
+     * Validates a nested model, if present.
+     */
+    public void validate(String property, Object value) {
+        if (value instanceof ContractValidated) {
+            path.add(property);
+            ((ContractValidated) value).validateContract(this);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    /**
+     * Validates the model elements of an array property on deep walks.
+     */
+    public void validateElements(String property, Collection<?> values) {
+        if (!deep || values == null) {
+            return;
+        }
+        path.add(property);
+        int index = 0;
+        for (Object value : values) {
+            if (value instanceof ContractValidated) {
+                path.add(index);
+                ((ContractValidated) value).validateContract(this);
+                path.remove(path.size() - 1);
+            }
+            index++;
+        }
+        path.remove(path.size() - 1);
+    }
+
+    /**
+     * Validates the model values of a map property on deep walks.
+     */
+    public void validateValues(String property, Map<String, ?> values) {
+        if (!deep || values == null) {
+            return;
+        }
+        path.add(property);
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            if (entry.getValue() instanceof ContractValidated) {
+                path.add("[" + entry.getKey() + "]");
+                ((ContractValidated) entry.getValue()).validateContract(this);
+                path.remove(path.size() - 1);
+            }
+        }
+        path.remove(path.size() - 1);
+    }
+
+    public boolean isEmpty() {
+        return messages == null;
+    }
+
+    /**
+     * The violations found so far, each rendered as {@code <property path>: <message>}.
+     */
+    public List<String> getMessages() {
+        return messages == null ? Collections.<String>emptyList() : Collections.unmodifiableList(messages);
+    }
+
+    private void add(String property, String message) {
+        StringBuilder sb = new StringBuilder();
+        for (Object segment : path) {
+            append(sb, segment);
+        }
+        append(sb, property);
+        sb.append(": ").append(message);
+        if (messages == null) {
+            messages = new ArrayList<>(4);
+        }
+        messages.add(sb.toString());
+    }
+
+    private static void append(StringBuilder sb, Object segment) {
+        if (segment instanceof Integer) {
+            sb.append('[').append(segment).append(']');
+        } else {
+            String name = (String) segment;
+            if (sb.length() > 0 && !name.startsWith("[")) {
+                sb.append('.');
+            }
+            sb.append(name);
+        }
+    }
+
+}
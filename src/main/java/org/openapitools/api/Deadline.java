@@ -0,0 +1,86 @@
+package org.openapitools.api;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which the caller of an extension operation stops waiting for the response.
+ *
+ * <p>The deadline of the call being handled is bound to the handling thread and can be queried
+ * with {@link #current()}. Long-running handler code should call {@link #check()} between steps,
+ * so that work nobody is waiting for any more is abandoned with a 504.</p>
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Returns the deadline of the call handled by the current thread, or {@code null} if it has none.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the deadline to the current thread and returns the previously bound one.
+     */
+    public static Deadline attach(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+        return previous;
+    }
+
+    public long remaining(TimeUnit unit) {
+        return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Whether the work for this deadline has been given up.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Cancels and throws {@link DeadlineExceededException} if the deadline has passed.
+     */
+    public void check() {
+        if (cancelled || isExpired()) {
+            cancelled = true;
+            throw new DeadlineExceededException();
+        }
+    }
+
+    /**
+     * Checks the deadline of the current thread, if any.
+     */
+    public static void checkCurrent() {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+
+}
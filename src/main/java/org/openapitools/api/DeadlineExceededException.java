@@ -0,0 +1,15 @@
+package org.openapitools.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown by {@link Deadline#check()} once the caller has stopped waiting for the response.
+ */
+public class DeadlineExceededException extends ResponseStatusException {
+
+    public DeadlineExceededException() {
+        super(HttpStatus.GATEWAY_TIMEOUT, "Deadline exceeded");
+    }
+
+}
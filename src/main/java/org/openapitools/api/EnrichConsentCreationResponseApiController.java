@@ -2,9 +2,12 @@ package org.openapitools.api;
 
 import org.openapitools.model.EnrichConsentCreationRequestBody;
 import org.openapitools.model.ErrorResponse;
+import org.openapitools.model.RequestForEnrichConsentCreationResponse;
 import org.openapitools.model.Response200ForResponseAlternation;
 
 
+import org.openapitools.consent.ConsentExpiryWheel;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -35,9 +38,12 @@ public class EnrichConsentCreationResponseApiController implements EnrichConsent
 
     private final NativeWebRequest request;
 
+    private final ConsentExpiryWheel expiryWheel;
+
     @Autowired
-    public EnrichConsentCreationResponseApiController(NativeWebRequest request) {
+    public EnrichConsentCreationResponseApiController(NativeWebRequest request, ObjectProvider<ConsentExpiryWheel> expiryWheel) {
         this.request = request;
+        this.expiryWheel = expiryWheel.getIfAvailable();
     }
 
     @Override
@@ -45,4 +51,14 @@ public class EnrichConsentCreationResponseApiController implements EnrichConsent
         return Optional.ofNullable(request);
     }
 
+    @Override
+    public ResponseEntity<Response200ForResponseAlternation> enrichConsentCreationResponsePost(EnrichConsentCreationRequestBody enrichConsentCreationRequestBody) {
+        RequestForEnrichConsentCreationResponse data = enrichConsentCreationRequestBody.getData();
+        if (expiryWheel != null && data != null && data.getConsentResource() != null && !Warmup.isWarmup(request)) {
+            expiryWheel.schedule(data.getConsentId() != null ? data.getConsentId() : data.getConsentResource().getId(),
+                    data.getConsentResource().getValidityTime());
+        }
+        return EnrichConsentCreationResponseApi.super.enrichConsentCreationResponsePost(enrichConsentCreationRequestBody);
+    }
+
 }
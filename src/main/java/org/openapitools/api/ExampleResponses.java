@@ -0,0 +1,135 @@
+package org.openapitools.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Example responses of every extension operation, read from {@link OpenApiSpec} once and
+ * pre-encoded to UTF-8 so that mock responses can be written without per-request parsing
+ * or character encoding.
+ */
+@Component
+public class ExampleResponses {
+
+    private static final String SUCCESS_STATUS = "200";
+    private static final int MAX_CACHED_ACCEPT_HEADERS = 64;
+
+    private final Map<ExtensionOperation, Variants> variants = new EnumMap<>(ExtensionOperation.class);
+
+    public ExampleResponses(OpenApiSpec spec, ObjectMapper objectMapper) {
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            List<Example> examples = new ArrayList<>();
+            JsonNode content = spec.operation(operation).path("responses").path(SUCCESS_STATUS).path("content");
+            for (Iterator<String> it = content.fieldNames(); it.hasNext(); ) {
+                String mediaType = it.next();
+                List<JsonNode> candidates = spec.responseExamples(operation, SUCCESS_STATUS, mediaType);
+                if (!candidates.isEmpty()) {
+                    examples.add(new Example(MediaType.valueOf(mediaType), encode(objectMapper, candidates.get(0))));
+                }
+            }
+            if (!examples.isEmpty()) {
+                variants.put(operation, new Variants(examples));
+            }
+        }
+    }
+
+    private static byte[] encode(ObjectMapper objectMapper, JsonNode example) {
+        try {
+            return objectMapper.writeValueAsString(example).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode example " + example, e);
+        }
+    }
+
+    /**
+     * Selects the pre-encoded example of an operation that satisfies the given {@code Accept}
+     * header, or {@code null} if the operation has no examples or none is acceptable.
+     */
+    public Example select(ExtensionOperation operation, String accept) {
+        Variants candidates = variants.get(operation);
+        return candidates == null ? null : candidates.select(accept);
+    }
+
+    /**
+     * A single pre-encoded example body with its fully rendered {@code Content-Type} value.
+     */
+    public static final class Example {
+
+        private final MediaType mediaType;
+        private final String contentType;
+        private final byte[] body;
+
+        Example(MediaType mediaType, byte[] body) {
+            this.mediaType = mediaType;
+            this.contentType = new MediaType(mediaType, StandardCharsets.UTF_8).toString();
+            this.body = body;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+    }
+
+    private static final class Variants {
+
+        private final List<Example> examples;
+        private final Map<String, Example> byAccept = new ConcurrentHashMap<>();
+
+        Variants(List<Example> examples) {
+            this.examples = Collections.unmodifiableList(examples);
+        }
+
+        Example select(String accept) {
+            Example preferred = examples.get(0);
+            if (accept == null || accept.isEmpty() || MediaType.ALL_VALUE.equals(accept)
+                    || preferred.getMediaType().toString().equals(accept)) {
+                return preferred;
+            }
+            Example cached = byAccept.get(accept);
+            if (cached != null) {
+                return cached;
+            }
+            Example selected = negotiate(accept);
+            if (selected != null && byAccept.size() < MAX_CACHED_ACCEPT_HEADERS) {
+                byAccept.put(accept, selected);
+            }
+            return selected;
+        }
+
+        private Example negotiate(String accept) {
+            List<MediaType> acceptable = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(acceptable);
+            for (MediaType mediaType : acceptable) {
+                for (Example example : examples) {
+                    if (mediaType.isCompatibleWith(example.getMediaType())) {
+                        return example;
+                    }
+                }
+            }
+            return null;
+        }
+
+    }
+
+}
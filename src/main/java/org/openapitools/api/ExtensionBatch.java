@@ -0,0 +1,238 @@
+package org.openapitools.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openapitools.model.BatchEntry;
+import org.openapitools.model.BatchEntryResult;
+import org.openapitools.model.BatchRequestBody;
+import org.openapitools.model.BatchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executes the entries of a {@code /batch} call against the regular {@link ExtensionRoutes}.
+ *
+ * <p>Entries without {@code dependsOn} run in parallel on a dedicated pool; an entry with a
+ * dependency starts once that entry has completed, and is answered with
+ * {@code 424 Failed Dependency} if it did not succeed. Each entry writes to its own in-memory
+ * {@link BatchEntryResponse}, so handlers that write to {@code getRequest()} directly neither
+ * interfere with each other nor touch the response of the batch call, and reads a
+ * {@link BatchEntryRequest} copied from the batch call up front, so entries still running after
+ * the batch call has been answered never touch the recycled servlet request.</p>
+ *
+ * <p>The pool queues at most {@code openapi.extension.batch.queue-capacity} entries; entries
+ * that do not fit are answered with 503. The {@link Deadline} of the batch call, if any, is
+ * bound to every entry, and entries still running when it passes are answered with 504.</p>
+ */
+@Component
+public class ExtensionBatch {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtensionBatch.class);
+
+    private final ExtensionRoutes routes;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ContractValidator contractValidator;
+    private final int maxEntries;
+    private final ThreadPoolExecutor executor;
+
+    public ExtensionBatch(ExtensionRoutes routes, ObjectMapper objectMapper, ObjectProvider<Validator> validator,
+                          ObjectProvider<ContractValidator> contractValidator,
+                          @Value("${openapi.extension.batch.threads:16}") int threads,
+                          @Value("${openapi.extension.batch.queue-capacity:256}") int queueCapacity,
+                          @Value("${openapi.extension.batch.max-entries:32}") int maxEntries) {
+        this.routes = routes;
+        this.objectMapper = objectMapper;
+        this.validator = validator.getIfAvailable();
+        this.contractValidator = contractValidator.getIfAvailable();
+        this.maxEntries = maxEntries;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("extension-batch-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public BatchResponse execute(BatchRequestBody batch) {
+        List<BatchEntry> entries = batch.getEntries();
+        if (entries.size() > maxEntries) {
+            throw new InvalidBatchException("A batch may contain at most " + maxEntries + " entries");
+        }
+        List<ExtensionRoutes.Route<?>> entryRoutes = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BatchEntry entry = entries.get(i);
+            ExtensionOperation operation = ExtensionOperation.fromOperationId(entry.getOperation());
+            if (operation == null) {
+                throw new InvalidBatchException("Unknown operation in batch entry " + i);
+            }
+            Integer dependsOn = entry.getDependsOn();
+            if (dependsOn != null && (dependsOn < 0 || dependsOn >= i)) {
+                throw new InvalidBatchException("Batch entry " + i + " must depend on an earlier entry");
+            }
+            entryRoutes.add(routes.route(operation));
+        }
+
+        BatchEntryRequest request = new BatchEntryRequest(
+                ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest());
+        Deadline deadline = Deadline.current();
+        List<CompletableFuture<BatchEntryResult>> results = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            BatchEntry entry = entries.get(i);
+            ExtensionRoutes.Route<?> route = entryRoutes.get(i);
+            Integer dependsOn = entry.getDependsOn();
+            if (dependsOn == null) {
+                results.add(submit(entry, () -> run(entry, route, request, deadline)));
+            } else {
+                results.add(results.get(dependsOn).thenApplyAsync(dependency ->
+                        isSuccessful(dependency) ? run(entry, route, request, deadline)
+                                : result(entry, HttpStatus.FAILED_DEPENDENCY.value(), null), executor));
+            }
+        }
+
+        List<BatchEntryResult> responses = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            responses.add(await(entries.get(i), results.get(i), deadline));
+        }
+        return new BatchResponse(batch.getRequestId(), responses);
+    }
+
+    /**
+     * Writes the {@code ErrorResponse} for a rejected batch to the response of the batch call.
+     */
+    void writeError(HttpServletResponse response, InvalidBatchException e) {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        try {
+            ApiUtil.writeResponse(response, MediaType.APPLICATION_JSON_VALUE,
+                    objectMapper.writeValueAsBytes(ApiUtil.errorResponse("invalid_request", e.getMessage())));
+        } catch (JsonProcessingException jpe) {
+            throw new IllegalStateException(jpe);
+        }
+    }
+
+    private CompletableFuture<BatchEntryResult> submit(BatchEntry entry, Supplier<BatchEntryResult> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy(entry));
+        }
+    }
+
+    private BatchEntryResult await(BatchEntry entry, CompletableFuture<BatchEntryResult> result, Deadline deadline) {
+        try {
+            if (deadline == null) {
+                return result.join();
+            }
+            return result.get(Math.max(0, deadline.remaining(TimeUnit.NANOSECONDS)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            deadline.cancel();
+            return deadlineExceeded(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException();
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                return busy(entry);
+            }
+            throw new IllegalStateException("Batch entry failed unexpectedly", e.getCause());
+        }
+    }
+
+    private BatchEntryResult run(BatchEntry entry, ExtensionRoutes.Route<?> route, BatchEntryRequest batchRequest,
+                                 Deadline deadline) {
+        if (deadline != null && (deadline.isCancelled() || deadline.isExpired())) {
+            return deadlineExceeded(entry);
+        }
+        BatchEntryRequest request = batchRequest.forEntry();
+        BatchEntryResponse response = new BatchEntryResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        Deadline previous = Deadline.attach(deadline);
+        try {
+            Object body = route.readBody(objectMapper.valueToTree(entry.getBody()));
+            if (body == null || !isValid(route.getOperation(), body, request)) {
+                return result(entry, HttpStatus.BAD_REQUEST.value(), ApiUtil.errorResponse("invalid_request", "Request does not comply with the schema"));
+            }
+            ResponseEntity<?> entity = route.handle(body);
+            Object responseBody = entity.getBody();
+            if (responseBody == null && response.getContentSize() > 0) {
+                responseBody = objectMapper.readTree(response.getContentAsByteArray());
+            }
+            return result(entry, entity.getStatusCodeValue(), responseBody);
+        } catch (ValidationException e) {
+            return result(entry, HttpStatus.BAD_REQUEST.value(), ApiUtil.errorResponse("invalid_request", e.getMessage()));
+        } catch (DeadlineExceededException e) {
+            return deadlineExceeded(entry);
+        } catch (Exception e) {
+            log.warn("Batch entry {} for {} failed", entry.getRequestId(), entry.getOperation(), e);
+            return result(entry, HttpStatus.INTERNAL_SERVER_ERROR.value(), ApiUtil.errorResponse("server_error", "Error occurred while handling the request"));
+        } finally {
+            Deadline.attach(previous);
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private boolean isValid(ExtensionOperation operation, Object body, HttpServletRequest request) {
+        if (contractValidator != null) {
+            return contractValidator.validate(operation, body, request).isEmpty();
+        }
+        return validator == null || validator.validate(body).isEmpty();
+    }
+
+    private static boolean isSuccessful(BatchEntryResult result) {
+        return HttpStatus.Series.resolve(result.getStatusCode()) == HttpStatus.Series.SUCCESSFUL;
+    }
+
+    private static BatchEntryResult busy(BatchEntry entry) {
+        return result(entry, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ApiUtil.errorResponse("server_busy", "The server is too busy to handle the request"));
+    }
+
+    private static BatchEntryResult deadlineExceeded(BatchEntry entry) {
+        return result(entry, HttpStatus.GATEWAY_TIMEOUT.value(),
+                ApiUtil.errorResponse("deadline_exceeded", "The caller is no longer waiting for this response"));
+    }
+
+    private static BatchEntryResult result(BatchEntry entry, int statusCode, Object body) {
+        return new BatchEntryResult(entry.getOperation(), entry.getRequestId(), statusCode, body);
+    }
+
+    /**
+     * Thrown when a batch is rejected as a whole, before any of its entries runs.
+     */
+    static final class InvalidBatchException extends RuntimeException {
+
+        InvalidBatchException(String message) {
+            super(message);
+        }
+
+    }
+
+}
@@ -0,0 +1,15 @@
+package org.openapitools.api;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Typed entry point of an extension operation, bound to the matching {@code *Api} method.
+ *
+ * @param <B> the request body model of the operation
+ */
+@FunctionalInterface
+public interface ExtensionHandler<B> {
+
+    ResponseEntity<?> handle(B body);
+
+}
@@ -0,0 +1,93 @@
+package org.openapitools.api;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The extension-point operations exposed under the accelerator base path, keyed by their
+ * generated {@code PATH_*} constants. Used by the runtime components that need to resolve
+ * a request to its operation without going through handler mapping.
+ */
+public enum ExtensionOperation {
+
+    ENRICH_CONSENT_CREATION_RESPONSE(EnrichConsentCreationResponseApi.PATH_ENRICH_CONSENT_CREATION_RESPONSE_POST, "enrichConsentCreationResponsePost", "Consent"),
+    ENRICH_CONSENT_FILE_RESPONSE(EnrichConsentFileResponseApi.PATH_ENRICH_CONSENT_FILE_RESPONSE_POST, "enrichConsentFileResponsePost", "Consent"),
+    ENRICH_CONSENT_SEARCH_RESPONSE(EnrichConsentSearchResponseApi.PATH_ENRICH_CONSENT_SEARCH_RESPONSE_POST, "enrichConsentSearchResponsePost", "Consent"),
+    ENRICH_EVENT_POLLING_RESPONSE(EnrichEventPollingResponseApi.PATH_ENRICH_EVENT_POLLING_RESPONSE_POST, "enrichEventPollingResponsePost", "Event Polling"),
+    ENRICH_EVENT_SUBSCRIPTION_RESPONSE(EnrichEventSubscriptionResponseApi.PATH_ENRICH_EVENT_SUBSCRIPTION_RESPONSE_POST, "enrichEventSubscriptionResponsePost", "Event Subscription"),
+    ISSUE_REFRESH_TOKEN(IssueRefreshTokenApi.PATH_ISSUE_REFRESH_TOKEN_POST, "issueRefreshTokenPost", "Token"),
+    MAP_ACCELERATOR_ERROR_RESPONSE(MapAcceleratorErrorResponseApi.PATH_MAP_ACCELERATOR_ERROR_RESPONSE_POST, "mapAcceleratorErrorResponsePost", "Error Handling"),
+    PERSIST_AUTHORIZED_CONSENT(PersistAuthorizedConsentApi.PATH_PERSIST_AUTHORIZED_CONSENT_POST, "persistAuthorizedConsentPost", "Consent"),
+    POPULATE_CONSENT_AUTHORIZE_SCREEN(PopulateConsentAuthorizeScreenApi.PATH_POPULATE_CONSENT_AUTHORIZE_SCREEN_POST, "populateConsentAuthorizeScreenPost", "Consent"),
+    PRE_PROCESS_APPLICATION_CREATION(PreProcessApplicationCreationApi.PATH_PRE_PROCESS_APPLICATION_CREATION_POST, "preProcessApplicationCreationPost", "Application"),
+    PRE_PROCESS_APPLICATION_UPDATE(PreProcessApplicationUpdateApi.PATH_PRE_PROCESS_APPLICATION_UPDATE_POST, "preProcessApplicationUpdatePost", "Application"),
+    PRE_PROCESS_CLIENT_CREATION(PreProcessClientCreationApi.PATH_PRE_PROCESS_CLIENT_CREATION_POST, "preProcessClientCreationPost", "Client"),
+    PRE_PROCESS_CLIENT_RETRIEVAL(PreProcessClientRetrievalApi.PATH_PRE_PROCESS_CLIENT_RETRIEVAL_POST, "preProcessClientRetrievalPost", "Client"),
+    PRE_PROCESS_CLIENT_UPDATE(PreProcessClientUpdateApi.PATH_PRE_PROCESS_CLIENT_UPDATE_POST, "preProcessClientUpdatePost", "Client"),
+    PRE_PROCESS_CONSENT_CREATION(PreProcessConsentCreationApi.PATH_PRE_PROCESS_CONSENT_CREATION_POST, "preProcessConsentCreationPost", "Consent"),
+    PRE_PROCESS_CONSENT_FILE_UPLOAD(PreProcessConsentFileUploadApi.PATH_PRE_PROCESS_CONSENT_FILE_UPLOAD_POST, "preProcessConsentFileUploadPost", "Consent"),
+    PRE_PROCESS_CONSENT_RETRIEVAL(PreProcessConsentRetrievalApi.PATH_PRE_PROCESS_CONSENT_RETRIEVAL_POST, "preProcessConsentRetrievalPost", "Consent"),
+    PRE_PROCESS_CONSENT_REVOKE(PreProcessConsentRevokeApi.PATH_PRE_PROCESS_CONSENT_REVOKE_POST, "preProcessConsentRevokePost", "Consent"),
+    VALIDATE_AUTHORIZATION_REQUEST(ValidateAuthorizationRequestApi.PATH_PRE_USER_AUTHORIZATION, "preUserAuthorization", "Authorize"),
+    VALIDATE_CONSENT_ACCESS(ValidateConsentAccessApi.PATH_VALIDATE_CONSENT_ACCESS_POST, "validateConsentAccessPost", "Consent"),
+    VALIDATE_CONSENT_FILE_RETRIEVAL(ValidateConsentFileRetrievalApi.PATH_VALIDATE_CONSENT_FILE_RETRIEVAL_POST, "validateConsentFileRetrievalPost", "Consent"),
+    VALIDATE_EVENT_CREATION(ValidateEventCreationApi.PATH_VALIDATE_EVENT_CREATION_POST, "validateEventCreationPost", "Event Creation");
+
+    private static final Map<String, ExtensionOperation> BY_PATH = new HashMap<>();
+    private static final Map<String, ExtensionOperation> BY_OPERATION_ID = new HashMap<>();
+
+    static {
+        for (ExtensionOperation operation : values()) {
+            BY_PATH.put(operation.path, operation);
+            BY_OPERATION_ID.put(operation.operationId, operation);
+        }
+    }
+
+    private final String path;
+    private final String operationId;
+    private final String tag;
+
+    ExtensionOperation(String path, String operationId, String tag) {
+        this.path = path;
+        this.operationId = operationId;
+        this.tag = tag;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Looks up an operation by its path relative to the accelerator base path.
+     */
+    public static ExtensionOperation fromPath(String path) {
+        return BY_PATH.get(path);
+    }
+
+    public static ExtensionOperation fromOperationId(String operationId) {
+        return BY_OPERATION_ID.get(operationId);
+    }
+
+    /**
+     * Resolves the operation targeted by a servlet request, or {@code null} when the request
+     * is not addressed to an extension point under {@code basePath}.
+     */
+    public static ExtensionOperation resolve(HttpServletRequest request, String basePath) {
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        if (!uri.startsWith(basePath, offset)) {
+            return null;
+        }
+        return BY_PATH.get(uri.substring(offset + basePath.length()));
+    }
+
+}
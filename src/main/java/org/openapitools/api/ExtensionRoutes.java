@@ -0,0 +1,158 @@
+package org.openapitools.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openapitools.model.AppCreateProcessRequestBody;
+import org.openapitools.model.AppUpdateProcessRequestBody;
+import org.openapitools.model.ClientProcessRequestBody;
+import org.openapitools.model.EnrichConsentCreationRequestBody;
+import org.openapitools.model.EnrichConsentSearchRequestBody;
+import org.openapitools.model.EnrichFileUploadResponseRequestBody;
+import org.openapitools.model.ErrorMapperRequestBody;
+import org.openapitools.model.EventCreationRequestBody;
+import org.openapitools.model.EventPollingRequestBody;
+import org.openapitools.model.EventSubscriptionRequestBody;
+import org.openapitools.model.IssueRefreshTokenRequestBody;
+import org.openapitools.model.PersistAuthorizedConsentRequestBody;
+import org.openapitools.model.PopulateConsentAuthorizeScreenRequestBody;
+import org.openapitools.model.PreProcessConsentCreationRequestBody;
+import org.openapitools.model.PreProcessConsentRequestBody;
+import org.openapitools.model.PreProcessFileUploadRequestBody;
+import org.openapitools.model.ValidateAuthorizationRequestBody;
+import org.openapitools.model.ValidateConsentAccessRequestBody;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Precomputed table from each {@link ExtensionOperation} to its request body reader and the
+ * {@code *Api} bean method that handles it. Everything is resolved once at startup, so
+ * dispatching through a route involves no reflection or handler lookup.
+ *
+ * <p>Handlers are bound to the bean behind any AOP proxy, such as the one method validation
+ * puts around {@code @Validated} controllers: callers of a route validate the body themselves,
+ * or deliberately not at all.</p>
+ */
+@Component
+public class ExtensionRoutes {
+
+    private final Map<ExtensionOperation, Route<?>> routes = new EnumMap<>(ExtensionOperation.class);
+    private final ObjectMapper objectMapper;
+
+    public ExtensionRoutes(ApplicationContext context, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        register(ExtensionOperation.ENRICH_CONSENT_CREATION_RESPONSE, EnrichConsentCreationRequestBody.class,
+                target(context, EnrichConsentCreationResponseApi.class)::enrichConsentCreationResponsePost);
+        register(ExtensionOperation.ENRICH_CONSENT_FILE_RESPONSE, EnrichFileUploadResponseRequestBody.class,
+                target(context, EnrichConsentFileResponseApi.class)::enrichConsentFileResponsePost);
+        register(ExtensionOperation.ENRICH_CONSENT_SEARCH_RESPONSE, EnrichConsentSearchRequestBody.class,
+                target(context, EnrichConsentSearchResponseApi.class)::enrichConsentSearchResponsePost);
+        register(ExtensionOperation.ENRICH_EVENT_POLLING_RESPONSE, EventPollingRequestBody.class,
+                target(context, EnrichEventPollingResponseApi.class)::enrichEventPollingResponsePost);
+        register(ExtensionOperation.ENRICH_EVENT_SUBSCRIPTION_RESPONSE, EventSubscriptionRequestBody.class,
+                target(context, EnrichEventSubscriptionResponseApi.class)::enrichEventSubscriptionResponsePost);
+        register(ExtensionOperation.ISSUE_REFRESH_TOKEN, IssueRefreshTokenRequestBody.class,
+                target(context, IssueRefreshTokenApi.class)::issueRefreshTokenPost);
+        register(ExtensionOperation.MAP_ACCELERATOR_ERROR_RESPONSE, ErrorMapperRequestBody.class,
+                target(context, MapAcceleratorErrorResponseApi.class)::mapAcceleratorErrorResponsePost);
+        register(ExtensionOperation.PERSIST_AUTHORIZED_CONSENT, PersistAuthorizedConsentRequestBody.class,
+                target(context, PersistAuthorizedConsentApi.class)::persistAuthorizedConsentPost);
+        register(ExtensionOperation.POPULATE_CONSENT_AUTHORIZE_SCREEN, PopulateConsentAuthorizeScreenRequestBody.class,
+                target(context, PopulateConsentAuthorizeScreenApi.class)::populateConsentAuthorizeScreenPost);
+        register(ExtensionOperation.PRE_PROCESS_APPLICATION_CREATION, AppCreateProcessRequestBody.class,
+                target(context, PreProcessApplicationCreationApi.class)::preProcessApplicationCreationPost);
+        register(ExtensionOperation.PRE_PROCESS_APPLICATION_UPDATE, AppUpdateProcessRequestBody.class,
+                target(context, PreProcessApplicationUpdateApi.class)::preProcessApplicationUpdatePost);
+        register(ExtensionOperation.PRE_PROCESS_CLIENT_CREATION, ClientProcessRequestBody.class,
+                target(context, PreProcessClientCreationApi.class)::preProcessClientCreationPost);
+        register(ExtensionOperation.PRE_PROCESS_CLIENT_RETRIEVAL, ClientProcessRequestBody.class,
+                target(context, PreProcessClientRetrievalApi.class)::preProcessClientRetrievalPost);
+        register(ExtensionOperation.PRE_PROCESS_CLIENT_UPDATE, ClientProcessRequestBody.class,
+                target(context, PreProcessClientUpdateApi.class)::preProcessClientUpdatePost);
+        register(ExtensionOperation.PRE_PROCESS_CONSENT_CREATION, PreProcessConsentCreationRequestBody.class,
+                target(context, PreProcessConsentCreationApi.class)::preProcessConsentCreationPost);
+        register(ExtensionOperation.PRE_PROCESS_CONSENT_FILE_UPLOAD, PreProcessFileUploadRequestBody.class,
+                target(context, PreProcessConsentFileUploadApi.class)::preProcessConsentFileUploadPost);
+        register(ExtensionOperation.PRE_PROCESS_CONSENT_RETRIEVAL, PreProcessConsentRequestBody.class,
+                target(context, PreProcessConsentRetrievalApi.class)::preProcessConsentRetrievalPost);
+        register(ExtensionOperation.PRE_PROCESS_CONSENT_REVOKE, PreProcessConsentRequestBody.class,
+                target(context, PreProcessConsentRevokeApi.class)::preProcessConsentRevokePost);
+        register(ExtensionOperation.VALIDATE_AUTHORIZATION_REQUEST, ValidateAuthorizationRequestBody.class,
+                target(context, ValidateAuthorizationRequestApi.class)::preUserAuthorization);
+        register(ExtensionOperation.VALIDATE_CONSENT_ACCESS, ValidateConsentAccessRequestBody.class,
+                target(context, ValidateConsentAccessApi.class)::validateConsentAccessPost);
+        register(ExtensionOperation.VALIDATE_CONSENT_FILE_RETRIEVAL, PreProcessConsentRequestBody.class,
+                target(context, ValidateConsentFileRetrievalApi.class)::validateConsentFileRetrievalPost);
+        register(ExtensionOperation.VALIDATE_EVENT_CREATION, EventCreationRequestBody.class,
+                target(context, ValidateEventCreationApi.class)::validateEventCreationPost);
+    }
+
+    private <B> void register(ExtensionOperation operation, Class<B> bodyType, ExtensionHandler<B> handler) {
+        routes.put(operation, new Route<>(operation, bodyType, objectMapper.readerFor(bodyType), handler));
+    }
+
+    /**
+     * The {@code type} bean, unwrapped from its singleton AOP proxies.
+     */
+    private static <T> T target(ApplicationContext context, Class<T> type) {
+        Object bean = context.getBean(type);
+        for (Object target = AopProxyUtils.getSingletonTarget(bean); target != null;
+             target = AopProxyUtils.getSingletonTarget(bean)) {
+            bean = target;
+        }
+        return type.cast(bean);
+    }
+
+    public Route<?> route(ExtensionOperation operation) {
+        return routes.get(operation);
+    }
+
+    /**
+     * A resolved extension operation: reads its request body model and invokes its handler.
+     *
+     * @param <B> the request body model of the operation
+     */
+    public static final class Route<B> {
+
+        private final ExtensionOperation operation;
+        private final Class<B> bodyType;
+        private final ObjectReader reader;
+        private final ExtensionHandler<B> handler;
+
+        Route(ExtensionOperation operation, Class<B> bodyType, ObjectReader reader, ExtensionHandler<B> handler) {
+            this.operation = operation;
+            this.bodyType = bodyType;
+            this.reader = reader;
+            this.handler = handler;
+        }
+
+        public ExtensionOperation getOperation() {
+            return operation;
+        }
+
+        public Class<B> getBodyType() {
+            return bodyType;
+        }
+
+        public B readBody(InputStream in) throws IOException {
+            return reader.readValue(in);
+        }
+
+        public B readBody(JsonNode node) throws IOException {
+            return reader.readValue(node);
+        }
+
+        public ResponseEntity<?> handle(Object body) {
+            return handler.handle(bodyType.cast(body));
+        }
+
+    }
+
+}
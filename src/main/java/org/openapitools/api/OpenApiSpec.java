@@ -0,0 +1,111 @@
+package org.openapitools.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Parsed view of the bundled {@code openapi.yaml}, loaded once at startup so that runtime
+ * components can read examples and schema constraints without touching the file again.
+ */
+@Component
+public class OpenApiSpec {
+
+    private static final String SPEC_LOCATION = "openapi.yaml";
+    private static final String REF_PREFIX = "#/components/schemas/";
+
+    private final JsonNode root;
+
+    public OpenApiSpec() {
+        try (InputStream in = new ClassPathResource(SPEC_LOCATION).getInputStream()) {
+            this.root = new ObjectMapper(new YAMLFactory()).readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load " + SPEC_LOCATION, e);
+        }
+    }
+
+    public JsonNode getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns the {@code post} node of the given operation, or a missing node if the spec
+     * does not declare it.
+     */
+    public JsonNode operation(ExtensionOperation operation) {
+        return root.path("paths").path(operation.getPath()).path("post");
+    }
+
+    public JsonNode schema(String name) {
+        return root.path("components").path("schemas").path(name);
+    }
+
+    /**
+     * Follows a {@code $ref} to a component schema; nodes without a reference are returned as-is.
+     */
+    public JsonNode resolve(JsonNode schema) {
+        JsonNode ref = schema.get("$ref");
+        if (ref == null || !ref.asText().startsWith(REF_PREFIX)) {
+            return schema;
+        }
+        return schema(schemaName(ref.asText()));
+    }
+
+    public static String schemaName(String ref) {
+        return ref.substring(ref.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Request body examples for an operation, falling back to the example of the referenced
+     * request schema when the operation does not declare one.
+     */
+    public List<JsonNode> requestExamples(ExtensionOperation operation) {
+        return examples(operation(operation).path("requestBody").path("content").path("application/json"));
+    }
+
+    /**
+     * Response examples declared for a status code and media type, in declaration order.
+     */
+    public List<JsonNode> responseExamples(ExtensionOperation operation, String status, String mediaType) {
+        return examples(operation(operation).path("responses").path(status).path("content").path(mediaType));
+    }
+
+    private List<JsonNode> examples(JsonNode content) {
+        if (content.isMissingNode()) {
+            return Collections.emptyList();
+        }
+        List<JsonNode> examples = new ArrayList<>();
+        if (content.has("example")) {
+            examples.add(content.get("example"));
+        }
+        for (Iterator<JsonNode> it = content.path("examples").elements(); it.hasNext(); ) {
+            JsonNode value = it.next().get("value");
+            if (value != null) {
+                examples.add(value);
+            }
+        }
+        if (examples.isEmpty()) {
+            JsonNode schema = resolve(content.path("schema"));
+            if (schema.has("oneOf")) {
+                schema = resolve(schema.path("oneOf").path(0));
+            }
+            JsonNode schemaExample = schema.path("example");
+            if (!(schemaExample instanceof MissingNode)) {
+                examples.add(schemaExample);
+            }
+        }
+        return examples;
+    }
+
+}
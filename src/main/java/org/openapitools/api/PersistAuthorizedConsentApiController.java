@@ -1,10 +1,13 @@
 package org.openapitools.api;
 
 import org.openapitools.model.ErrorResponse;
+import org.openapitools.model.PersistAuthorizedConsent;
 import org.openapitools.model.PersistAuthorizedConsentRequestBody;
 import org.openapitools.model.Response200ForPersistAuthorizedConsent;
 
 
+import org.openapitools.consent.ConsentCache;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -35,9 +38,12 @@ public class PersistAuthorizedConsentApiController implements PersistAuthorizedC
 
     private final NativeWebRequest request;
 
+    private final ConsentCache consentCache;
+
     @Autowired
-    public PersistAuthorizedConsentApiController(NativeWebRequest request) {
+    public PersistAuthorizedConsentApiController(NativeWebRequest request, ObjectProvider<ConsentCache> consentCache) {
         this.request = request;
+        this.consentCache = consentCache.getIfAvailable();
     }
 
     @Override
@@ -45,4 +51,21 @@ public class PersistAuthorizedConsentApiController implements PersistAuthorizedC
         return Optional.ofNullable(request);
     }
 
+    @Override
+    public ResponseEntity<Response200ForPersistAuthorizedConsent> persistAuthorizedConsentPost(PersistAuthorizedConsentRequestBody persistAuthorizedConsentRequestBody) {
+        PersistAuthorizedConsent data = persistAuthorizedConsentRequestBody.getData();
+        if (data != null && consentCache != null && !Warmup.isWarmup(request)) {
+            String consentId = data.getConsentId() != null || data.getConsentResource() == null
+                    ? data.getConsentId() : data.getConsentResource().getId();
+            if (Boolean.FALSE.equals(data.getIsApproved())) {
+                // a rejected authorization moves the consent to a status not yet in the request
+                consentCache.invalidate(consentId);
+            } else {
+                // also schedules the expiry of the stored version
+                consentCache.update(consentId, data.getConsentResource());
+            }
+        }
+        return PersistAuthorizedConsentApi.super.persistAuthorizedConsentPost(persistAuthorizedConsentRequestBody);
+    }
+
 }
@@ -6,6 +6,8 @@ import org.openapitools.model.PopulateConsentAuthorizeScreenRequestBody;
 import org.openapitools.model.Response200ForPopulateConsentAuthorizeScreen;
 
 
+import org.openapitools.consent.ConsentCache;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -36,9 +38,12 @@ public class PopulateConsentAuthorizeScreenApiController implements PopulateCons
 
     private final NativeWebRequest request;
 
+    private final ConsentCache consentCache;
+
     @Autowired
-    public PopulateConsentAuthorizeScreenApiController(NativeWebRequest request) {
+    public PopulateConsentAuthorizeScreenApiController(NativeWebRequest request, ObjectProvider<ConsentCache> consentCache) {
         this.request = request;
+        this.consentCache = consentCache.getIfAvailable();
     }
 
     @Override
@@ -46,4 +51,14 @@ public class PopulateConsentAuthorizeScreenApiController implements PopulateCons
         return Optional.ofNullable(request);
     }
 
+    @Override
+    public ResponseEntity<Response200ForPopulateConsentAuthorizeScreen> populateConsentAuthorizeScreenPost(PopulateConsentAuthorizeScreenRequestBody populateConsentAuthorizeScreenRequestBody) {
+        if (consentCache != null && populateConsentAuthorizeScreenRequestBody != null
+                && populateConsentAuthorizeScreenRequestBody.getData() != null && !Warmup.isWarmup(request)) {
+            consentCache.resolve(populateConsentAuthorizeScreenRequestBody.getData().getConsentId(),
+                    populateConsentAuthorizeScreenRequestBody.getData().getConsentResource());
+        }
+        return PopulateConsentAuthorizeScreenApi.super.populateConsentAuthorizeScreenPost(populateConsentAuthorizeScreenRequestBody);
+    }
+
 }
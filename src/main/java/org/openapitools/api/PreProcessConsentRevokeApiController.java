@@ -2,9 +2,12 @@ package org.openapitools.api;
 
 import org.openapitools.model.ErrorResponse;
 import org.openapitools.model.PreProcessConsentRequestBody;
+import org.openapitools.model.PreProcessConsentRetrievalData;
 import org.openapitools.model.Response200ForConsentRevocation;
 
 
+import org.openapitools.consent.ConsentCache;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -35,9 +38,12 @@ public class PreProcessConsentRevokeApiController implements PreProcessConsentRe
 
     private final NativeWebRequest request;
 
+    private final ConsentCache consentCache;
+
     @Autowired
-    public PreProcessConsentRevokeApiController(NativeWebRequest request) {
+    public PreProcessConsentRevokeApiController(NativeWebRequest request, ObjectProvider<ConsentCache> consentCache) {
         this.request = request;
+        this.consentCache = consentCache.getIfAvailable();
     }
 
     @Override
@@ -45,4 +51,17 @@ public class PreProcessConsentRevokeApiController implements PreProcessConsentRe
         return Optional.ofNullable(request);
     }
 
+    @Override
+    public ResponseEntity<Response200ForConsentRevocation> preProcessConsentRevokePost(PreProcessConsentRequestBody preProcessConsentRequestBody) {
+        PreProcessConsentRetrievalData data = preProcessConsentRequestBody.getData();
+        if (data != null && !Warmup.isWarmup(request)) {
+            String consentId = data.getConsentId() != null || data.getConsentResource() == null
+                    ? data.getConsentId() : data.getConsentResource().getId();
+            if (consentCache != null) {
+                consentCache.invalidate(consentId);
+            }
+        }
+        return PreProcessConsentRevokeApi.super.preProcessConsentRevokePost(preProcessConsentRequestBody);
+    }
+
 }
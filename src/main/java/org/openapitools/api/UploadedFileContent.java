@@ -0,0 +1,63 @@
+package org.openapitools.api;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The {@code fileContent} of a {@code /pre-process-consent-file-upload} call after it has been
+ * streamed to disk. In streaming mode the {@code fileContent} property of the bound request body
+ * is left empty and handlers read the file through {@link #current()} instead. The file is
+ * deleted once the call completes.
+ */
+public final class UploadedFileContent {
+
+    public static final String ATTRIBUTE = UploadedFileContent.class.getName();
+
+    private final Path path;
+    private final long size;
+    private final String sha256;
+
+    public UploadedFileContent(Path path, long size, String sha256) {
+        this.path = path;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    /**
+     * Returns the file content of the call handled by the current thread, or {@code null} if the
+     * call did not carry one or was not streamed.
+     */
+    public static UploadedFileContent current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (UploadedFileContent) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Size of the decoded content in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Hex encoded SHA-256 digest of the decoded content.
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    public InputStream openStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+}
@@ -2,9 +2,15 @@ package org.openapitools.api;
 
 import org.openapitools.model.ErrorResponse;
 import org.openapitools.model.Response200;
+import org.openapitools.model.StoredDetailedConsentResourceData;
+import org.openapitools.model.ValidateConsentAccessData;
 import org.openapitools.model.ValidateConsentAccessRequestBody;
 
 
+import org.openapitools.consent.ConsentCache;
+import org.openapitools.consent.ConsentFrequencyLimiter;
+import org.openapitools.consent.ConsentState;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -35,9 +41,16 @@ public class ValidateConsentAccessApiController implements ValidateConsentAccess
 
     private final NativeWebRequest request;
 
+    private final ConsentCache consentCache;
+
+    private final ConsentFrequencyLimiter frequencyLimiter;
+
     @Autowired
-    public ValidateConsentAccessApiController(NativeWebRequest request) {
+    public ValidateConsentAccessApiController(NativeWebRequest request, ObjectProvider<ConsentCache> consentCache,
+            ObjectProvider<ConsentFrequencyLimiter> frequencyLimiter) {
         this.request = request;
+        this.consentCache = consentCache.getIfAvailable();
+        this.frequencyLimiter = frequencyLimiter.getIfAvailable();
     }
 
     @Override
@@ -45,4 +58,37 @@ public class ValidateConsentAccessApiController implements ValidateConsentAccess
         return Optional.ofNullable(request);
     }
 
+    @Override
+    public ResponseEntity<Response200> validateConsentAccessPost(ValidateConsentAccessRequestBody validateConsentAccessRequestBody) {
+        ValidateConsentAccessData data = validateConsentAccessRequestBody.getData();
+        if (data == null || Warmup.isWarmup(request)) {
+            // warm-up calls leave consent state and access counts alone
+            return ValidateConsentAccessApi.super.validateConsentAccessPost(validateConsentAccessRequestBody);
+        }
+        String consentId = data.getConsentId() != null || data.getConsentResource() == null
+                ? data.getConsentId() : data.getConsentResource().getId();
+        StoredDetailedConsentResourceData resource = data.getConsentResource();
+        ConsentState state = consentCache == null ? null : consentCache.resolve(consentId, resource);
+        if (state != null && state.isExpired()) {
+            return ResponseEntity.ok(consentCache.expired(validateConsentAccessRequestBody.getRequestId()));
+        }
+        ConsentFrequencyLimiter.Access access = null;
+        if (frequencyLimiter != null && resource != null) {
+            access = frequencyLimiter.tryAcquire(consentId, resource.getFrequency());
+            if (access == null) {
+                return ResponseEntity.ok(frequencyLimiter.exceeded(validateConsentAccessRequestBody.getRequestId()));
+            }
+        }
+        ResponseEntity<Response200> response = null;
+        try {
+            response = ValidateConsentAccessApi.super.validateConsentAccessPost(validateConsentAccessRequestBody);
+            return response;
+        } finally {
+            if (access != null) {
+                // accesses count unless the handler denied them or failed
+                access.complete(response);
+            }
+        }
+    }
+
 }
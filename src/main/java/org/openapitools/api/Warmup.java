@@ -0,0 +1,54 @@
+package org.openapitools.api;
+
+import org.springframework.web.context.request.NativeWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * Marks the calls the start-up warm-up makes against the running server, so that consent state,
+ * decisions, access counts and replayed responses are only ever built from real traffic.
+ *
+ * <p>Warm-up calls carry {@link #HEADER} with a random token that is only accepted between
+ * {@link #begin()} and {@link #end()}, so the header cannot be used to bypass those components
+ * from outside.</p>
+ */
+public final class Warmup {
+
+    public static final String HEADER = "X-Extension-Warmup";
+
+    private static volatile byte[] token;
+
+    private Warmup() {
+    }
+
+    /**
+     * Starts accepting a new token and returns it.
+     */
+    public static String begin() {
+        String value = UUID.randomUUID().toString();
+        token = value.getBytes(StandardCharsets.US_ASCII);
+        return value;
+    }
+
+    public static void end() {
+        token = null;
+    }
+
+    public static boolean isWarmup(HttpServletRequest request) {
+        return request != null && matches(request.getHeader(HEADER));
+    }
+
+    public static boolean isWarmup(NativeWebRequest request) {
+        return request != null && matches(request.getHeader(HEADER));
+    }
+
+    private static boolean matches(String value) {
+        byte[] current = token;
+        return current != null && value != null
+                && MessageDigest.isEqual(current, value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.openapitools.configuration;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.mvc.condition.ConsumesRequestCondition;
+import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Lets the extension endpoints exchange CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}) besides JSON when
+ * {@code openapi.extension.binary-formats.enabled=true}.
+ *
+ * <p>The generated {@code *Api} mappings only declare {@code application/json}; every mapping in
+ * {@code org.openapitools.api} that consumes or produces JSON is widened to the binary types as
+ * well, and the encoding is chosen through {@code Content-Type} and {@code Accept} as usual. Both
+ * converters use the application's Jackson settings, so the same model classes and modules apply.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.binary-formats.enabled", havingValue = "true")
+public class BinaryFormatConfiguration {
+
+    private static final String API_PACKAGE = "org.openapitools.api";
+    private static final String[] BINARY_TYPES = {"application/cbor", "application/x-jackson-smile"};
+
+    @Bean(name = "org.openapitools.configuration.BinaryFormatConfiguration.cborHttpMessageConverter")
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean(name = "org.openapitools.configuration.BinaryFormatConfiguration.smileHttpMessageConverter")
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean(name = "org.openapitools.configuration.BinaryFormatConfiguration.binaryFormatMvcRegistrations")
+    public WebMvcRegistrations binaryFormatMvcRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+                return new BinaryFormatHandlerMapping();
+            }
+        };
+    }
+
+    private static final class BinaryFormatHandlerMapping extends RequestMappingHandlerMapping {
+
+        @Override
+        protected RequestMappingInfo getMappingForMethod(Method method, Class<?> handlerType) {
+            RequestMappingInfo info = super.getMappingForMethod(method, handlerType);
+            if (info == null || !handlerType.getName().startsWith(API_PACKAGE + ".")) {
+                return info;
+            }
+            ConsumesRequestCondition consumes = info.getConsumesCondition();
+            ProducesRequestCondition produces = info.getProducesCondition();
+            boolean widenConsumes = consumes.getConsumableMediaTypes().contains(MediaType.APPLICATION_JSON);
+            boolean widenProduces = produces.getProducibleMediaTypes().contains(MediaType.APPLICATION_JSON);
+            if (!widenConsumes && !widenProduces) {
+                return info;
+            }
+            RequestMappingInfo.Builder builder = info.mutate();
+            if (widenConsumes) {
+                builder.consumes(withBinaryTypes(consumes.getConsumableMediaTypes()));
+            }
+            if (widenProduces) {
+                builder.produces(withBinaryTypes(produces.getProducibleMediaTypes()));
+            }
+            return builder.build();
+        }
+
+        private static String[] withBinaryTypes(Set<MediaType> mediaTypes) {
+            Set<String> types = new LinkedHashSet<>();
+            for (MediaType mediaType : mediaTypes) {
+                types.add(mediaType.toString());
+            }
+            for (String type : BINARY_TYPES) {
+                types.add(type);
+            }
+            return types.toArray(new String[0]);
+        }
+
+    }
+
+}
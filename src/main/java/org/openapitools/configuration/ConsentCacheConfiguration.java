@@ -0,0 +1,32 @@
+package org.openapitools.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.consent.ConsentCache;
+import org.openapitools.consent.ConsentExpiryWheel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Keeps the parsed state of consents seen by the consent extension points in a shared
+ * {@link ConsentCache} when {@code openapi.extension.consent.cache.enabled=true}.
+ * {@code /validate-consent-access} and {@code /populate-consent-authorize-screen} read it,
+ * {@code /persist-authorized-consent} updates it and {@code /pre-process-consent-revoke}
+ * invalidates it; handlers can inject the cache to reach the same state.
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.consent.cache.enabled", havingValue = "true")
+public class ConsentCacheConfiguration {
+
+    @Bean(name = "org.openapitools.configuration.ConsentCacheConfiguration.consentCache")
+    public ConsentCache consentCache(@Value("${openapi.extension.consent.cache.max-size:100000}") long maxSize,
+                                     @Value("${openapi.extension.consent.cache.expire-after-access:24h}") Duration expireAfterAccess,
+                                     MeterRegistry registry, ObjectProvider<ConsentExpiryWheel> expiryWheel) {
+        return new ConsentCache(maxSize, expireAfterAccess, registry, expiryWheel.getIfAvailable());
+    }
+
+}
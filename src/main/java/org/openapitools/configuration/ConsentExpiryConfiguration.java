@@ -0,0 +1,32 @@
+package org.openapitools.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.consent.ConsentExpiryWheel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Expires consents at their {@code validityTime} through a {@link ConsentExpiryWheel} when
+ * {@code openapi.extension.consent.expiry.enabled=true}. Expiry is recorded on the cached
+ * consent state, so it also needs {@code openapi.extension.consent.cache.enabled=true}; without
+ * the cache no wheel is created. The {@code ConsentCache} schedules every version it stores, and
+ * {@code /enrich-consent-creation-response} the consents it creates. Expired consents are marked
+ * in the cache, so {@code /validate-consent-access} refuses them with a {@code FAILED} response
+ * ({@code errorCode} 401).
+ */
+@Configuration
+@ConditionalOnProperty(name = {"openapi.extension.consent.expiry.enabled", "openapi.extension.consent.cache.enabled"},
+        havingValue = "true")
+public class ConsentExpiryConfiguration {
+
+    @Bean(name = "org.openapitools.configuration.ConsentExpiryConfiguration.consentExpiryWheel")
+    public ConsentExpiryWheel consentExpiryWheel(@Value("${openapi.extension.consent.expiry.tick:1s}") Duration tick,
+                                                 MeterRegistry registry) {
+        return new ConsentExpiryWheel(tick, registry);
+    }
+
+}
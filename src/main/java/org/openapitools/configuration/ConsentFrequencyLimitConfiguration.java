@@ -0,0 +1,34 @@
+package org.openapitools.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.consent.ConsentFrequencyLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Refuses {@code /validate-consent-access} calls beyond the consent's {@code frequency} of
+ * accesses per day with a {@code FAILED} response ({@code errorCode} 429) when
+ * {@code openapi.extension.consent.frequency-limit.enabled=true}. Days start at midnight in
+ * {@code zone}; setting {@code checkpoint-file} keeps today's counts across restarts.
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.consent.frequency-limit.enabled", havingValue = "true")
+public class ConsentFrequencyLimitConfiguration {
+
+    @Bean(name = "org.openapitools.configuration.ConsentFrequencyLimitConfiguration.consentFrequencyLimiter")
+    public ConsentFrequencyLimiter consentFrequencyLimiter(@Value("${openapi.extension.consent.frequency-limit.max-consents:1000000}") long maxConsents,
+                                                           @Value("${openapi.extension.consent.frequency-limit.zone:UTC}") ZoneId zone,
+                                                           @Value("${openapi.extension.consent.frequency-limit.checkpoint-file:}") String checkpointFile,
+                                                           @Value("${openapi.extension.consent.frequency-limit.checkpoint-interval:1m}") Duration checkpointInterval,
+                                                           MeterRegistry registry) {
+        return new ConsentFrequencyLimiter(maxConsents, zone, checkpointFile.isEmpty() ? null : Paths.get(checkpointFile),
+                checkpointInterval, registry);
+    }
+
+}
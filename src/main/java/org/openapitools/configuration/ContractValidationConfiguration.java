@@ -0,0 +1,125 @@
+package org.openapitools.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.api.ContractValidated;
+import org.openapitools.api.ContractValidator;
+import org.openapitools.web.ExtensionOperationFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.validation.beanvalidation.MethodValidationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Validator;
+import java.util.Arrays;
+
+/**
+ * Replaces reflective bean validation of the generated models with their compiled
+ * {@link ContractValidated} checks when {@code openapi.extension.validation.mode=compiled}.
+ *
+ * <p>The compiled validator becomes the Spring MVC validator behind {@code @Valid @RequestBody}
+ * and is also used by the router filter and {@code /batch}. Arguments that are not generated
+ * models are still handed to the regular bean validator.</p>
+ *
+ * <p>The controllers are left out of method validation: their {@code @Validated} API interfaces
+ * would otherwise have the body checked again by reflective bean validation, which reports a
+ * violation as a 500 rather than the 400 of the compiled checks.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.validation.mode", havingValue = "compiled")
+public class ContractValidationConfiguration {
+
+    @Bean(name = "org.openapitools.configuration.ContractValidationConfiguration.contractValidator")
+    public ContractValidator contractValidator(@Value(ExtensionOperationFilter.BASE_PATH_PROPERTY) String basePath,
+                                               @Value("${openapi.extension.validation.trusted-callers:}") String[] trustedCallers,
+                                               @Value("${openapi.extension.validation.shallow-for-trusted:false}") boolean shallowForTrusted,
+                                               Environment environment, ObjectProvider<Validator> validator,
+                                               MeterRegistry registry) {
+        return new ContractValidator(basePath, Arrays.asList(trustedCallers), shallowForTrusted, environment,
+                validator.getIfAvailable(), registry);
+    }
+
+    @Bean(name = "org.openapitools.configuration.ContractValidationConfiguration.controllerMethodValidationExcludeFilter")
+    public static MethodValidationExcludeFilter controllerMethodValidationExcludeFilter() {
+        return MethodValidationExcludeFilter.byAnnotation(Controller.class, MergedAnnotations.SearchStrategy.TYPE_HIERARCHY);
+    }
+
+    @Bean(name = "org.openapitools.configuration.ContractValidationConfiguration.contractValidationMvcConfigurer")
+    public WebMvcConfigurer contractValidationMvcConfigurer(ContractValidator contractValidator,
+                                                            ObjectProvider<Validator> validator) {
+        return new WebMvcConfigurer() {
+            @Override
+            public org.springframework.validation.Validator getValidator() {
+                return new CompiledModelValidator(contractValidator, validator);
+            }
+        };
+    }
+
+    private static final class CompiledModelValidator implements SmartValidator {
+
+        private final ContractValidator contractValidator;
+        private final ObjectProvider<Validator> validator;
+        private volatile SmartValidator fallback;
+
+        CompiledModelValidator(ContractValidator contractValidator, ObjectProvider<Validator> validator) {
+            this.contractValidator = contractValidator;
+            this.validator = validator;
+        }
+
+        @Override
+        public boolean supports(Class<?> clazz) {
+            return true;
+        }
+
+        @Override
+        public void validate(Object target, Errors errors) {
+            validate(target, errors, new Object[0]);
+        }
+
+        @Override
+        public void validate(Object target, Errors errors, Object... validationHints) {
+            if (target instanceof ContractValidated) {
+                HttpServletRequest request = currentRequest();
+                for (String message : contractValidator.validate(target, request)) {
+                    errors.reject("contract", message);
+                }
+                return;
+            }
+            SmartValidator fallback = fallback();
+            if (fallback != null) {
+                fallback.validate(target, errors, validationHints);
+            }
+        }
+
+        private SmartValidator fallback() {
+            SmartValidator fallback = this.fallback;
+            if (fallback == null) {
+                Validator target = validator.getIfAvailable();
+                if (target != null) {
+                    fallback = target instanceof SmartValidator ? (SmartValidator) target : new SpringValidatorAdapter(target);
+                    this.fallback = fallback;
+                }
+            }
+            return fallback;
+        }
+
+        private static HttpServletRequest currentRequest() {
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+        }
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package org.openapitools.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.web.DirectBufferPool;
+import org.openapitools.web.PooledJackson2HttpMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Serializes JSON responses into pooled direct buffers when
+ * {@code openapi.extension.direct-buffers.enabled=true}. The pooled converter replaces Spring
+ * Boot's default Jackson converter and is also used by the router filter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.direct-buffers.enabled", havingValue = "true")
+public class DirectBufferConfiguration {
+
+    @Bean(name = "org.openapitools.configuration.DirectBufferConfiguration.directBufferPool")
+    public DirectBufferPool directBufferPool(@Value("${openapi.extension.direct-buffers.max-pooled-per-class:64}") int maxPooledPerClass,
+                                             MeterRegistry registry) {
+        return new DirectBufferPool(maxPooledPerClass, registry);
+    }
+
+    @Bean(name = "org.openapitools.configuration.DirectBufferConfiguration.mappingJackson2HttpMessageConverter")
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   DirectBufferPool pool) {
+        return new PooledJackson2HttpMessageConverter(objectMapper, pool);
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.openapitools.configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import org.openapitools.api.OpenApiSpec;
+import org.openapitools.jackson.OneOfUnionModule;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the status-discriminated {@code oneOf} union writers and readers when
+ * {@code openapi.extension.one-of.enabled=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.one-of.enabled", havingValue = "true")
+public class OneOfUnionConfiguration {
+
+    @Bean(name = "org.openapitools.configuration.OneOfUnionConfiguration.oneOfUnionModule")
+    public Module oneOfUnionModule(OpenApiSpec spec) {
+        return new OneOfUnionModule(spec);
+    }
+
+}
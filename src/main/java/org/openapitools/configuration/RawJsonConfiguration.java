@@ -0,0 +1,29 @@
+package org.openapitools.configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import org.openapitools.jackson.RawJsonModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+/**
+ * Keeps the opaque {@code type: object} fields of the contract as raw JSON slices when
+ * {@code openapi.extension.raw-json.enabled=true}. Handlers then see
+ * {@link org.openapitools.jackson.RawJson} values for those fields instead of maps.
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.raw-json.enabled", havingValue = "true")
+public class RawJsonConfiguration {
+
+    @Bean(name = "org.openapitools.configuration.RawJsonConfiguration.rawJsonModule")
+    public Module rawJsonModule(
+            @Value("${openapi.extension.raw-json.fields:receipt,attributes,consentInitiationData,"
+                    + "eventData,eventPollingData,searchResult,clientData,softwareStatement,appData}") String[] fields) {
+        return new RawJsonModule(new LinkedHashSet<>(Arrays.asList(fields)));
+    }
+
+}
@@ -0,0 +1,64 @@
+package org.openapitools.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs Tomcat request processing, and therefore every extension endpoint under the accelerator
+ * base path, on virtual threads when {@code openapi.extension.virtual-threads.enabled=true}.
+ *
+ * <p>The project is compiled for Java 8, so the virtual thread API is looked up reflectively
+ * once at startup; on runtimes older than Java 21 the platform thread pool is kept and a
+ * warning is logged. Pinning diagnostics are a JVM option, since the JDK may read
+ * {@code jdk.tracePinnedThreads} before any bean runs: start the JVM with
+ * {@code -Djdk.tracePinnedThreads=short} or {@code =full} to have pinned virtual threads
+ * reported.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "openapi.extension.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    private static final String THREAD_NAME_PREFIX = "extension-vt-";
+
+    @Bean(name = "org.openapitools.configuration.VirtualThreadConfiguration.virtualThreadProtocolHandlerCustomizer")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadExecutor();
+        return protocolHandler -> {
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+            }
+        };
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderType = ofVirtual.getReturnType();
+            Object builder = builderType.getMethod("name", String.class, long.class)
+                    .invoke(ofVirtual.invoke(null), THREAD_NAME_PREFIX, 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            log.info("Serving extension endpoints on virtual threads (jdk.tracePinnedThreads: {})",
+                    System.getProperty("jdk.tracePinnedThreads", "off"));
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (NoSuchMethodException e) {
+            log.warn("Virtual threads requested but not supported by Java {}; keeping the platform thread pool",
+                    System.getProperty("java.version"));
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create the virtual thread executor", e);
+        }
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.openapitools.consent;
+
+import org.openapitools.model.StoredAuthorization;
+import org.openapitools.model.StoredResource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the (account, permission) pairs granted by a consent's
+ * {@code authorizations[].resources[]}, for checking a data request without scanning them.
+ *
+ * <p>Accounts, permissions and resource statuses are numbered in dictionaries. Each status has a
+ * bit matrix with one row of {@code ceil(permissions / 64)} words per account, and a further
+ * matrix holds the pairs granted with any status, so a check is two dictionary lookups and a
+ * bit test. Resources without an account id are indexed under the {@code null} account.</p>
+ */
+public final class ConsentAccessIndex {
+
+    private static final ConsentAccessIndex EMPTY = new ConsentAccessIndex(Collections.<StoredAuthorization>emptyList());
+
+    private final Map<String, Integer> accounts = new LinkedHashMap<>();
+    private final Map<String, Integer> permissions = new LinkedHashMap<>();
+    private final Map<String, Integer> statuses = new HashMap<>(4);
+    private final String[] statusNames;
+    private final int words;
+    private final long[] granted;
+    private final long[][] grantedByStatus;
+    private final int resourceCount;
+
+    private ConsentAccessIndex(List<StoredAuthorization> authorizations) {
+        int resourceCount = 0;
+        for (StoredAuthorization authorization : authorizations) {
+            if (authorization.getResources() == null) {
+                continue;
+            }
+            for (StoredResource resource : authorization.getResources()) {
+                number(accounts, resource.getAccountId());
+                number(permissions, resource.getPermission());
+                number(statuses, resource.getStatus());
+                resourceCount++;
+            }
+        }
+        this.resourceCount = resourceCount;
+        this.statusNames = new String[statuses.size()];
+        for (Map.Entry<String, Integer> status : statuses.entrySet()) {
+            statusNames[status.getValue()] = status.getKey();
+        }
+        this.words = (permissions.size() + 63) >>> 6;
+        this.granted = new long[accounts.size() * words];
+        this.grantedByStatus = new long[statusNames.length][granted.length];
+        for (StoredAuthorization authorization : authorizations) {
+            if (authorization.getResources() == null) {
+                continue;
+            }
+            for (StoredResource resource : authorization.getResources()) {
+                int permission = permissions.get(resource.getPermission());
+                int word = accounts.get(resource.getAccountId()) * words + (permission >>> 6);
+                long bit = 1L << permission;
+                granted[word] |= bit;
+                grantedByStatus[statuses.get(resource.getStatus())][word] |= bit;
+            }
+        }
+    }
+
+    public static ConsentAccessIndex of(List<StoredAuthorization> authorizations) {
+        return authorizations == null || authorizations.isEmpty() ? EMPTY : new ConsentAccessIndex(authorizations);
+    }
+
+    /**
+     * Whether {@code permission} is granted on {@code accountId} with any resource status.
+     */
+    public boolean isGranted(String accountId, String permission) {
+        return test(granted, accountId, permission);
+    }
+
+    /**
+     * Whether {@code permission} is granted on {@code accountId} by a resource in {@code status}.
+     */
+    public boolean isGranted(String accountId, String permission, String status) {
+        Integer statusIndex = statuses.get(status);
+        return statusIndex != null && test(grantedByStatus[statusIndex], accountId, permission);
+    }
+
+    /**
+     * Whether every one of {@code permissions} is granted on {@code accountId} by a resource in
+     * {@code status}.
+     */
+    public boolean isGrantedAll(String accountId, Collection<String> permissions, String status) {
+        Integer statusIndex = statuses.get(status);
+        if (statusIndex == null) {
+            return permissions.isEmpty();
+        }
+        Integer account = accounts.get(accountId);
+        if (account == null) {
+            return permissions.isEmpty();
+        }
+        long[] matrix = grantedByStatus[statusIndex];
+        int row = account * words;
+        for (String permission : permissions) {
+            Integer index = this.permissions.get(permission);
+            if (index == null || (matrix[row + (index >>> 6)] & 1L << index) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Status of the first resource status, in order of appearance, granting {@code permission}
+     * on {@code accountId}, or {@code null} if the pair is not granted.
+     */
+    public String getStatus(String accountId, String permission) {
+        for (int i = 0; i < statusNames.length; i++) {
+            if (test(grantedByStatus[i], accountId, permission)) {
+                return statusNames[i];
+            }
+        }
+        return null;
+    }
+
+    public boolean containsAccount(String accountId) {
+        return accounts.containsKey(accountId);
+    }
+
+    public Set<String> getAccountIds() {
+        return Collections.unmodifiableSet(accounts.keySet());
+    }
+
+    public Set<String> getPermissions() {
+        return Collections.unmodifiableSet(permissions.keySet());
+    }
+
+    /**
+     * Number of resources the index was built from, duplicates included.
+     */
+    public int getResourceCount() {
+        return resourceCount;
+    }
+
+    private boolean test(long[] matrix, String accountId, String permission) {
+        Integer account = accounts.get(accountId);
+        Integer index = permissions.get(permission);
+        return account != null && index != null && (matrix[account * words + (index >>> 6)] & 1L << index) != 0;
+    }
+
+    private static void number(Map<String, Integer> dictionary, String value) {
+        if (!dictionary.containsKey(value)) {
+            dictionary.put(value, dictionary.size());
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package org.openapitools.consent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.openapitools.model.FailedResponse;
+import org.openapitools.model.StoredDetailedConsentResourceData;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of {@link ConsentState} keyed by consent id, shared by the consent extension
+ * points. Eviction uses Caffeine's W-TinyLFU policy, so consents read on every data call stay
+ * cached while one-off consents from authorization flows pass through.
+ *
+ * <p>Every entry holds the latest version seen for its consent: a request carrying a different
+ * version replaces the entry unless the cached one is newer. Persist flows store the authorized
+ * version and revoke flows invalidate the entry. Hits, misses, evictions and size are published
+ * through Micrometer's cache metrics under the cache name {@code consent}.</p>
+ *
+ * <p>With a {@link ConsentExpiryWheel}, every version stored is scheduled to expire at its
+ * {@code validityTime} and marked {@link ConsentState#isExpired() expired} when the wheel
+ * fires, or right away if that time has already passed.</p>
+ */
+public class ConsentCache {
+
+    static final int CONSENT_EXPIRED = 401;
+
+    private final Cache<String, ConsentState> cache;
+    private final ConsentExpiryWheel expiryWheel;
+
+    public ConsentCache(long maxSize, Duration expireAfterAccess, MeterRegistry registry) {
+        this(maxSize, expireAfterAccess, registry, null);
+    }
+
+    public ConsentCache(long maxSize, Duration expireAfterAccess, MeterRegistry registry, ConsentExpiryWheel expiryWheel) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        this.expiryWheel = expiryWheel;
+        CaffeineCacheMetrics.monitor(registry, cache, "consent");
+        if (expiryWheel != null) {
+            expiryWheel.addListener(this::expire);
+        }
+    }
+
+    /**
+     * Returns the state of the consent version in {@code resource}, from the cache if it holds
+     * that version. {@code consentId} falls back to the resource id when {@code null}.
+     */
+    public ConsentState resolve(String consentId, StoredDetailedConsentResourceData resource) {
+        String key = key(consentId, resource);
+        if (key == null) {
+            return null;
+        }
+        ConsentState cached = cache.getIfPresent(key);
+        if (cached != null && cached.isVersionOf(resource)) {
+            return cached;
+        }
+        ConsentState state = ConsentState.of(key, resource);
+        scheduleExpiry(state, cache.asMap().merge(key, state, ConsentCache::latest) == state);
+        return state;
+    }
+
+    /**
+     * Stores the version in {@code resource} unless the same or a newer one is already cached,
+     * e.g. after {@code /persist-authorized-consent}. A repeated update of the cached version
+     * keeps its state and leaves its expiry scheduled once.
+     */
+    public ConsentState update(String consentId, StoredDetailedConsentResourceData resource) {
+        String key = key(consentId, resource);
+        if (key == null) {
+            return null;
+        }
+        ConsentState cached = cache.asMap().get(key);
+        if (cached != null && cached.isVersionOf(resource)) {
+            return cached;
+        }
+        ConsentState state = ConsentState.of(key, resource);
+        ConsentState stored = cache.asMap().merge(key, state, ConsentCache::latest);
+        scheduleExpiry(state, stored == state);
+        return stored;
+    }
+
+    /**
+     * Returns the cached state without recording a hit or miss, or {@code null}.
+     */
+    public ConsentState get(String consentId) {
+        return consentId == null ? null : cache.asMap().get(consentId);
+    }
+
+    public void invalidate(String consentId) {
+        if (consentId != null) {
+            cache.invalidate(consentId);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * The {@code FAILED} response for an access to an expired consent.
+     */
+    public FailedResponse expired(String requestId) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("errorMessage", "consent_expired");
+        data.put("errorDescription", "The consent has expired");
+        return new FailedResponse(requestId, FailedResponse.StatusEnum.ERROR, CONSENT_EXPIRED, data);
+    }
+
+    private void expire(List<String> consentIds, long epochSecond) {
+        for (String consentId : consentIds) {
+            ConsentState state = cache.asMap().get(consentId);
+            if (state != null && state.getValidityTime() > 0 && state.getValidityTime() <= epochSecond) {
+                state.markExpired();
+            }
+        }
+    }
+
+    /**
+     * Marks a new state expired if its validity has passed already, or else schedules its expiry
+     * if it was stored rather than superseded by a newer version.
+     */
+    private void scheduleExpiry(ConsentState state, boolean stored) {
+        if (expiryWheel == null || state.getValidityTime() <= 0) {
+            return;
+        }
+        if (state.getValidityTime() <= System.currentTimeMillis() / 1000) {
+            state.markExpired();
+        } else if (stored) {
+            expiryWheel.schedule(state.getConsentId(), state.getValidityTime());
+        }
+    }
+
+    private static ConsentState latest(ConsentState current, ConsentState candidate) {
+        return current.supersedes(candidate) ? current : candidate;
+    }
+
+    private static String key(String consentId, StoredDetailedConsentResourceData resource) {
+        if (resource == null) {
+            return null;
+        }
+        return consentId != null ? consentId : resource.getId();
+    }
+
+}
@@ -0,0 +1,19 @@
+package org.openapitools.consent;
+
+import java.util.List;
+
+/**
+ * Receives the consents whose {@code validityTime} has been reached, in bulk, from the
+ * {@link ConsentExpiryWheel}.
+ */
+@FunctionalInterface
+public interface ConsentExpiryListener {
+
+    /**
+     * Called on the wheel's thread with the consents that reached their {@code validityTime} at
+     * or before {@code epochSecond}. A consent may be listed although a later version with a
+     * longer validity has been seen since, so listeners check the version they hold.
+     */
+    void consentsExpired(List<String> consentIds, long epochSecond);
+
+}
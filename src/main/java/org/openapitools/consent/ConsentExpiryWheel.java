@@ -0,0 +1,196 @@
+package org.openapitools.consent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hierarchical timing wheel of consent expiries, with a resolution of one second.
+ *
+ * <p>The first level has 256 one-second slots and each further level 64 slots covering a whole
+ * turn of the level below, so five levels span more than the {@code int} range of
+ * {@code validityTime}. A consent is filed in the lowest level whose span reaches its expiry;
+ * when time enters a slot of a higher level, its consents are filed again one level down, and
+ * those in the current first-level slot expire. Scheduling and each tick are therefore
+ * constant time, whatever the number of scheduled consents.</p>
+ *
+ * <p>Entries are kept in parallel arrays linked by index rather than as objects, about 12 bytes
+ * per consent besides the id, and slots of expired entries are reused. Rescheduling a consent
+ * adds an entry rather than moving the old one, so listeners get consents whose validity has
+ * been extended since and check the version they hold. Expired consents are handed to the
+ * {@link ConsentExpiryListener}s in one list per tick, counted in {@code consent.expiry.expired};
+ * {@code consent.expiry.scheduled} is the number of pending entries.</p>
+ */
+public class ConsentExpiryWheel {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsentExpiryWheel.class);
+
+    private static final int[] SHIFTS = {0, 8, 14, 20, 26};
+    private static final int[] SIZES = {256, 64, 64, 64, 64};
+    private static final int NONE = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int[][] heads = new int[SHIFTS.length][];
+    private String[] consentIds = new String[INITIAL_CAPACITY];
+    private int[] expiries = new int[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int used;
+    private int free = NONE;
+    private int size;
+    private long current;
+
+    private final List<ConsentExpiryListener> listeners = new CopyOnWriteArrayList<>();
+    private final Counter expired;
+    private final ScheduledThreadPoolExecutor ticker;
+
+    /**
+     * @param tick how often to advance to the current time, or {@code null} to leave it to
+     *             {@link #advance(long)}
+     */
+    public ConsentExpiryWheel(Duration tick, MeterRegistry registry) {
+        for (int level = 0; level < SHIFTS.length; level++) {
+            heads[level] = new int[SIZES[level]];
+            Arrays.fill(heads[level], NONE);
+        }
+        this.current = System.currentTimeMillis() / 1000;
+        this.expired = Counter.builder("consent.expiry.expired").register(registry);
+        registry.gauge("consent.expiry.scheduled", this, ConsentExpiryWheel::size);
+        if (tick != null) {
+            ticker = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("consent-expiry-"));
+            ticker.scheduleWithFixedDelay(() -> advance(System.currentTimeMillis() / 1000),
+                    tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            ticker = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    public void addListener(ConsentExpiryListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Schedules the consent to expire at {@code validityTime}, in epoch seconds; a time already
+     * passed expires it on the next tick, and {@code 0} or less means it does not expire.
+     */
+    public synchronized void schedule(String consentId, int validityTime) {
+        if (consentId == null || validityTime <= 0) {
+            return;
+        }
+        int index = allocate();
+        consentIds[index] = consentId;
+        expiries[index] = validityTime;
+        file(index, current + 1);
+        size++;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Advances the wheel to {@code epochSecond}, expiring every consent due by then.
+     */
+    public void advance(long epochSecond) {
+        List<String> due = null;
+        synchronized (this) {
+            if (size == 0 && epochSecond > current) {
+                current = epochSecond;
+            }
+            while (current < epochSecond) {
+                long tick = current + 1;
+                for (int level = SHIFTS.length - 1; level > 0; level--) {
+                    if ((tick & ((1L << SHIFTS[level]) - 1)) == 0) {
+                        int[] slots = heads[level];
+                        int slot = (int) (tick >>> SHIFTS[level]) & (SIZES[level] - 1);
+                        int index = slots[slot];
+                        slots[slot] = NONE;
+                        while (index != NONE) {
+                            int following = next[index];
+                            file(index, tick);
+                            index = following;
+                        }
+                    }
+                }
+                int slot = (int) tick & (SIZES[0] - 1);
+                int index = heads[0][slot];
+                heads[0][slot] = NONE;
+                while (index != NONE) {
+                    if (due == null) {
+                        due = new ArrayList<>();
+                    }
+                    due.add(consentIds[index]);
+                    int following = next[index];
+                    release(index);
+                    index = following;
+                }
+                current = tick;
+            }
+        }
+        if (due != null) {
+            expired.increment(due.size());
+            for (ConsentExpiryListener listener : listeners) {
+                try {
+                    listener.consentsExpired(due, epochSecond);
+                } catch (RuntimeException e) {
+                    log.warn("Consent expiry listener {} failed", listener, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Files the entry in the slot of its expiry, relative to {@code base}, the first tick not
+     * processed yet.
+     */
+    private void file(int index, long base) {
+        long expiry = Math.max(expiries[index], base);
+        int level = 0;
+        while (level < SHIFTS.length - 1 && (expiry >>> SHIFTS[level]) - (base >>> SHIFTS[level]) >= SIZES[level]) {
+            level++;
+        }
+        int slot = (int) (expiry >>> SHIFTS[level]) & (SIZES[level] - 1);
+        next[index] = heads[level][slot];
+        heads[level][slot] = index;
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int index = free;
+            free = next[index];
+            return index;
+        }
+        if (used == next.length) {
+            int capacity = next.length * 2;
+            consentIds = Arrays.copyOf(consentIds, capacity);
+            expiries = Arrays.copyOf(expiries, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        return used++;
+    }
+
+    private void release(int index) {
+        consentIds[index] = null;
+        next[index] = free;
+        free = index;
+        size--;
+    }
+
+}
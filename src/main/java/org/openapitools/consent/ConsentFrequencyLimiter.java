@@ -0,0 +1,274 @@
+package org.openapitools.consent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.model.FailedResponse;
+import org.openapitools.model.Response200;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Enforces the {@code frequency} of consents, the number of accesses allowed per day, with
+ * in-process counters per (consent id, day).
+ *
+ * <p>Each consent has a {@link LongAdder} for the current day, so concurrent accesses to a
+ * popular consent increment separate cells instead of contending on one. An access increments
+ * the counter first and is refused if the sum then exceeds the frequency, which can refuse an
+ * access racing at the limit but never admits one too many. An access counts once it is
+ * granted; it is only given back when the handler denies it with a {@code FailedResponse} or
+ * fails with an exception. The counters live in a map that is only pruned, by a background
+ * task, once the day changes in {@code zone}, so a count cannot be lost during the day. It
+ * holds at most about {@code maxConsents} consents: once it is full, accesses to consents
+ * without a counter are admitted uncounted rather than refused, and counted in
+ * {@code consent.frequency.untracked}.</p>
+ *
+ * <p>With a {@code checkpointFile}, today's counts are written to it every
+ * {@code checkpointInterval} and on shutdown, and read back on startup, so a restart does not
+ * reset them. The file is replaced atomically. Refused accesses are counted in
+ * {@code consent.frequency.refused}.</p>
+ */
+public class ConsentFrequencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsentFrequencyLimiter.class);
+
+    static final int FREQUENCY_EXCEEDED = 429;
+
+    private final long maxConsents;
+    private final ZoneId zone;
+    private final LongSupplier clock;
+    private final Map<String, Access> counters = new ConcurrentHashMap<>();
+    private final Path checkpointFile;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Counter refused;
+    private final Counter untracked;
+    private volatile Day day;
+
+    public ConsentFrequencyLimiter(long maxConsents, ZoneId zone, Path checkpointFile, Duration checkpointInterval,
+                                   MeterRegistry registry) {
+        this(maxConsents, zone, checkpointFile, checkpointInterval, registry, System::currentTimeMillis);
+    }
+
+    ConsentFrequencyLimiter(long maxConsents, ZoneId zone, Path checkpointFile, Duration checkpointInterval,
+                            MeterRegistry registry, LongSupplier clock) {
+        this.maxConsents = maxConsents;
+        this.zone = zone;
+        this.clock = clock;
+        this.checkpointFile = checkpointFile;
+        this.refused = Counter.builder("consent.frequency.refused").register(registry);
+        this.untracked = Counter.builder("consent.frequency.untracked").register(registry);
+        registry.gauge("consent.frequency.consents", counters, Map::size);
+        this.day = Day.of(clock.getAsLong(), zone);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("consent-frequency-"));
+        if (checkpointFile != null) {
+            restore();
+            long interval = checkpointInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        scheduleRollover();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (checkpointFile != null) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Counts an access to the consent, or returns {@code null} if it would exceed
+     * {@code frequency} accesses today. A {@code frequency} of {@code 0} or less is unlimited,
+     * and so is the access when the consent has no counter and there is no room for one.
+     */
+    public Access tryAcquire(String consentId, int frequency) {
+        if (frequency <= 0 || consentId == null) {
+            return Access.UNLIMITED;
+        }
+        long today = today();
+        Access access = counters.get(consentId);
+        if (access == null && counters.size() >= maxConsents) {
+            untracked.increment();
+            return Access.UNLIMITED;
+        }
+        if (access == null || access.day != today) {
+            access = counters.compute(consentId, (id, current) ->
+                    current != null && current.day == today ? current : new Access(today));
+        }
+        access.count.increment();
+        if (access.count.sum() > frequency) {
+            access.count.decrement();
+            refused.increment();
+            return null;
+        }
+        return access;
+    }
+
+    /**
+     * Number of accesses counted today for the consent.
+     */
+    public long getCount(String consentId) {
+        Access access = consentId == null ? null : counters.get(consentId);
+        return access == null || access.day != today() ? 0 : access.count.sum();
+    }
+
+    /**
+     * The {@code FAILED} response for a refused access.
+     */
+    public FailedResponse exceeded(String requestId) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("errorMessage", "access_exceeded");
+        data.put("errorDescription", "The consent's access frequency per day is exceeded");
+        return new FailedResponse(requestId, FailedResponse.StatusEnum.ERROR, FREQUENCY_EXCEEDED, data);
+    }
+
+    private long today() {
+        Day current = day;
+        long now = clock.getAsLong();
+        if (now < current.start || now >= current.end) {
+            current = Day.of(now, zone);
+            day = current;
+        }
+        return current.epochDay;
+    }
+
+    /**
+     * Drops the counters of earlier days; runs on the scheduler when the day changes.
+     */
+    void prune() {
+        long today = today();
+        counters.values().removeIf(access -> access.day != today);
+    }
+
+    private void scheduleRollover() {
+        long delay = Math.max(1, day.end - clock.getAsLong());
+        try {
+            scheduler.schedule(() -> {
+                prune();
+                scheduleRollover();
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shut down
+        }
+    }
+
+    void checkpoint() {
+        long today = today();
+        Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Access> entry : counters.entrySet()) {
+                    long count = entry.getValue().count.sum();
+                    if (entry.getValue().day == today && count > 0) {
+                        writer.write(today + "\t" + count + "\t" + entry.getKey());
+                        writer.newLine();
+                    }
+                }
+            }
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not checkpoint consent access counts to {}", checkpointFile, e);
+        }
+    }
+
+    private void restore() {
+        long today = today();
+        int restored = 0;
+        try (BufferedReader reader = Files.newBufferedReader(checkpointFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split("\t", 3);
+                try {
+                    if (fields.length == 3 && Long.parseLong(fields[0]) == today) {
+                        Access access = new Access(today);
+                        access.count.add(Long.parseLong(fields[1]));
+                        counters.put(fields[2], access);
+                        restored++;
+                    }
+                } catch (NumberFormatException e) {
+                    log.debug("Skipping malformed checkpoint line: {}", line);
+                }
+            }
+            log.info("Restored today's access counts of {} consents from {}", restored, checkpointFile);
+        } catch (NoSuchFileException e) {
+            log.debug("No consent access checkpoint at {}", checkpointFile);
+        } catch (IOException e) {
+            log.warn("Could not restore consent access counts from {}", checkpointFile, e);
+        }
+    }
+
+    /**
+     * An access counted by {@link #tryAcquire(String, int)}.
+     */
+    public static final class Access {
+
+        static final Access UNLIMITED = new Access(Long.MIN_VALUE);
+
+        final long day;
+        final LongAdder count = new LongAdder();
+
+        Access(long day) {
+            this.day = day;
+        }
+
+        /**
+         * Gives the access back if {@code response} denies it with a {@code FailedResponse}, or
+         * is {@code null} because the handler failed. Any other response, including the
+         * {@code 501} of the generated stub, keeps it counted.
+         */
+        public void complete(ResponseEntity<? extends Response200> response) {
+            if (this == UNLIMITED) {
+                return;
+            }
+            Response200 body = response == null ? null : response.getBody();
+            if (response == null || body instanceof FailedResponse) {
+                count.decrement();
+            }
+        }
+
+    }
+
+    private static final class Day {
+
+        final long epochDay;
+        final long start;
+        final long end;
+
+        private Day(long epochDay, long start, long end) {
+            this.epochDay = epochDay;
+            this.start = start;
+            this.end = end;
+        }
+
+        static Day of(long millis, ZoneId zone) {
+            LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+            return new Day(date.toEpochDay(), date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+
+    }
+
+}
@@ -0,0 +1,162 @@
+package org.openapitools.consent;
+
+import org.openapitools.model.StoredAuthorization;
+import org.openapitools.model.StoredDetailedConsentResourceData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The facts handlers derive from a {@link StoredDetailedConsentResourceData}, computed once per
+ * consent version. A version is identified by {@code updatedTime} together with {@code status},
+ * since the accelerator may change the status without moving the timestamp. The one thing that
+ * changes is the expired flag, set once the version's {@code validityTime} has passed.
+ */
+public final class ConsentState {
+
+    private final String consentId;
+    private final int updatedTime;
+    private final String status;
+    private final String type;
+    private final String clientId;
+    private final int createdTime;
+    private final int validityTime;
+    private final int frequency;
+    private final boolean recurring;
+    private final List<String> userIds;
+    private List<StoredAuthorization> authorizations;
+    private volatile ConsentAccessIndex accessIndex;
+    private volatile boolean expired;
+
+    private ConsentState(String consentId, StoredDetailedConsentResourceData resource) {
+        this.consentId = consentId;
+        this.updatedTime = resource.getUpdatedTime();
+        this.status = resource.getStatus();
+        this.type = resource.getType();
+        this.clientId = resource.getClientId();
+        this.createdTime = resource.getCreatedTime();
+        this.validityTime = resource.getValidityTime();
+        this.frequency = resource.getFrequency();
+        this.recurring = Boolean.TRUE.equals(resource.getRecurringIndicator());
+        List<String> userIds = new ArrayList<>();
+        if (resource.getAuthorizations() != null) {
+            for (StoredAuthorization authorization : resource.getAuthorizations()) {
+                if (authorization.getUserId() != null && !userIds.contains(authorization.getUserId())) {
+                    userIds.add(authorization.getUserId());
+                }
+            }
+        }
+        this.userIds = Collections.unmodifiableList(userIds);
+        this.authorizations = resource.getAuthorizations();
+    }
+
+    public static ConsentState of(String consentId, StoredDetailedConsentResourceData resource) {
+        return new ConsentState(consentId, resource);
+    }
+
+    /**
+     * Whether this state was derived from the same version of the consent as {@code resource}.
+     */
+    public boolean isVersionOf(StoredDetailedConsentResourceData resource) {
+        return updatedTime == resource.getUpdatedTime() && Objects.equals(status, resource.getStatus());
+    }
+
+    /**
+     * Whether this state is of a strictly later consent version than {@code other}. Two states
+     * with the same {@code updatedTime} supersede neither, so the one merged last wins and a
+     * status changed without moving the timestamp replaces the cached one.
+     */
+    boolean supersedes(ConsentState other) {
+        return updatedTime > other.updatedTime;
+    }
+
+    public String getConsentId() {
+        return consentId;
+    }
+
+    public int getUpdatedTime() {
+        return updatedTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public int getCreatedTime() {
+        return createdTime;
+    }
+
+    /**
+     * Epoch second after which the consent is no longer valid, or {@code 0} if it does not expire.
+     */
+    public int getValidityTime() {
+        return validityTime;
+    }
+
+    /**
+     * Number of accesses allowed per day, or {@code 0} if unlimited.
+     */
+    public int getFrequency() {
+        return frequency;
+    }
+
+    public boolean isRecurring() {
+        return recurring;
+    }
+
+    /**
+     * Distinct users of the consent's authorizations, in order of appearance.
+     */
+    public List<String> getUserIds() {
+        return userIds;
+    }
+
+    /**
+     * Index of the (account, permission) pairs granted by the consent's authorizations, built on
+     * first use and then shared by every request for this version. Nothing on the
+     * {@code /validate-consent-access} path asks for it until a handler checks the data request
+     * against the grants, so states that are only resolved never pay for it.
+     */
+    public ConsentAccessIndex getAccessIndex() {
+        ConsentAccessIndex index = accessIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = accessIndex;
+                if (index == null) {
+                    index = ConsentAccessIndex.of(authorizations);
+                    accessIndex = index;
+                    authorizations = null;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Whether the consent has been marked expired by the {@link ConsentExpiryWheel}; always
+     * {@code false} without one.
+     */
+    public boolean isExpired() {
+        return expired;
+    }
+
+    void markExpired() {
+        expired = true;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsentState{consentId=" + consentId + ", updatedTime=" + updatedTime + ", status=" + status + "}";
+    }
+
+}
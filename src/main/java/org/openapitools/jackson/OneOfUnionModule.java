@@ -0,0 +1,187 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.module.SimpleSerializers;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.openapitools.api.OpenApiSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializers and deserializers for the {@code x-one-of-name} unions of the contract whose
+ * branches are told apart by their {@code status} enum, such as {@code Response200}
+ * ({@code SuccessResponse} with {@code SUCCESS}, {@code FailedResponse} with {@code ERROR}).
+ *
+ * <p>The generated union types are plain marker interfaces. On the way out the writer maps the
+ * runtime class to the branch serializer resolved once up front, so no per-call serializer
+ * lookup happens. On the way in only the fields preceding {@code status} (normally just
+ * {@code responseId}) are buffered before the matching branch deserializer takes over the
+ * stream. Unions whose branches cannot be told apart by {@code status} are left alone.</p>
+ */
+public class OneOfUnionModule extends SimpleModule {
+
+    private static final Logger log = LoggerFactory.getLogger(OneOfUnionModule.class);
+
+    private static final String MODEL_PACKAGE = "org.openapitools.model.";
+    private static final String STATUS = "status";
+
+    private final Map<Class<?>, JsonSerializer<?>> unionSerializers = new HashMap<>();
+
+    public OneOfUnionModule(OpenApiSpec spec) {
+        super(OneOfUnionModule.class.getSimpleName());
+        // Registered by exact type: SimpleSerializers would also match the branch classes,
+        // which implement the union interface.
+        setSerializers(new SimpleSerializers() {
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                return unionSerializers.get(type.getRawClass());
+            }
+        });
+        for (Iterator<Map.Entry<String, JsonNode>> it = spec.getRoot().path("components").path("schemas").fields(); it.hasNext(); ) {
+            JsonNode schema = it.next().getValue();
+            if (schema.has("x-one-of-name") && schema.has("oneOf")) {
+                register(spec, schema.get("x-one-of-name").asText(), schema.get("oneOf"));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void register(OpenApiSpec spec, String unionName, JsonNode oneOf) {
+        Map<String, Class<?>> branches = new LinkedHashMap<>();
+        try {
+            for (JsonNode branch : oneOf) {
+                String branchName = OpenApiSpec.schemaName(branch.path("$ref").asText());
+                Class<?> branchType = Class.forName(MODEL_PACKAGE + branchName);
+                JsonNode statuses = spec.schema(branchName).path("properties").path(STATUS).path("enum");
+                if (statuses.size() == 0) {
+                    log.debug("Union {} has a branch without a status enum, using the default handling", unionName);
+                    return;
+                }
+                for (JsonNode status : statuses) {
+                    if (branches.put(status.asText(), branchType) != null) {
+                        log.debug("Union {} has ambiguous status values, using the default handling", unionName);
+                        return;
+                    }
+                }
+            }
+            Class<Object> unionType = (Class<Object>) Class.forName(MODEL_PACKAGE + unionName);
+            unionSerializers.put(unionType, new UnionSerializer(unionType, new ArrayList<>(branches.values())));
+            addDeserializer(unionType, new UnionDeserializer(unionType, branches));
+        } catch (ClassNotFoundException e) {
+            log.debug("No model class for union {}, using the default handling", unionName);
+        }
+    }
+
+    private static final class UnionSerializer extends StdSerializer<Object> implements ResolvableSerializer {
+
+        private final Class<?>[] branchTypes;
+        private final JsonSerializer<Object>[] branchSerializers;
+
+        @SuppressWarnings("unchecked")
+        UnionSerializer(Class<Object> unionType, List<Class<?>> branchTypes) {
+            super(unionType);
+            this.branchTypes = branchTypes.stream().distinct().toArray(Class<?>[]::new);
+            this.branchSerializers = new JsonSerializer[this.branchTypes.length];
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            for (int i = 0; i < branchTypes.length; i++) {
+                branchSerializers[i] = provider.findValueSerializer(branchTypes[i]);
+            }
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            Class<?> type = value.getClass();
+            for (int i = 0; i < branchTypes.length; i++) {
+                if (branchTypes[i] == type) {
+                    branchSerializers[i].serialize(value, gen, provider);
+                    return;
+                }
+            }
+            provider.findValueSerializer(type).serialize(value, gen, provider);
+        }
+
+    }
+
+    private static final class UnionDeserializer extends StdDeserializer<Object> implements ResolvableDeserializer {
+
+        private final Map<String, Class<?>> branchTypes;
+        private final Map<String, JsonDeserializer<Object>> branchDeserializers = new HashMap<>();
+
+        UnionDeserializer(Class<?> unionType, Map<String, Class<?>> branchTypes) {
+            super(unionType);
+            this.branchTypes = branchTypes;
+        }
+
+        @Override
+        public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+            for (Map.Entry<String, Class<?>> branch : branchTypes.entrySet()) {
+                branchDeserializers.put(branch.getKey(), ctxt.findRootValueDeserializer(ctxt.constructType(branch.getValue())));
+            }
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                return ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            TokenBuffer buffer = null;
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                if (buffer == null) {
+                    buffer = ctxt.bufferForInputBuffering(p);
+                }
+                if (STATUS.equals(name) && p.currentToken() == JsonToken.VALUE_STRING) {
+                    String status = p.getText();
+                    JsonDeserializer<Object> deserializer = branchDeserializers.get(status);
+                    if (deserializer == null) {
+                        return ctxt.reportInputMismatch(this, "Unknown %s '%s' for %s", STATUS, status,
+                                handledType().getSimpleName());
+                    }
+                    buffer.writeFieldName(name);
+                    buffer.writeString(status);
+                    p.clearCurrentToken();
+                    JsonParser replay = JsonParserSequence.createFlattened(false, buffer.asParser(p), p);
+                    replay.nextToken();
+                    return deserializer.deserialize(replay, ctxt);
+                }
+                buffer.writeFieldName(name);
+                buffer.copyCurrentStructure(p);
+            }
+            return ctxt.reportInputMismatch(this, "Missing %s in %s", STATUS, handledType().getSimpleName());
+        }
+
+    }
+
+}
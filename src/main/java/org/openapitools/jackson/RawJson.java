@@ -0,0 +1,118 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Free-form JSON value kept as its UTF-8 encoded text. It is only parsed when handler code reads
+ * it through {@link #asTree()} or {@link #as(Class)}; until then it is written back byte-for-byte.
+ * Once parsed, the tree is what gets serialized, so changes made to it are kept.
+ */
+public final class RawJson {
+
+    private static final ObjectMapper DEFAULT_CODEC = new ObjectMapper();
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final byte[] json;
+    private final ObjectCodec codec;
+    private volatile JsonNode tree;
+
+    RawJson(byte[] json, ObjectCodec codec) {
+        this.json = json;
+        this.codec = codec != null ? codec : DEFAULT_CODEC;
+    }
+
+    /**
+     * Wraps already encoded JSON. The array is not copied and must not be modified afterwards.
+     */
+    public static RawJson of(byte[] json) {
+        return new RawJson(json, null);
+    }
+
+    public static RawJson of(String json) {
+        return new RawJson(json.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    /**
+     * Whether the value has been parsed, in which case it is serialized from the tree.
+     */
+    public boolean isParsed() {
+        return tree != null;
+    }
+
+    /**
+     * Parses the value on first use and returns the tree, which may be modified.
+     */
+    public JsonNode asTree() {
+        JsonNode result = tree;
+        if (result == null) {
+            synchronized (this) {
+                result = tree;
+                if (result == null) {
+                    try {
+                        // the bytes are JSON even when the codec reads another format
+                        result = codec.readTree(JSON.createParser(json));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    tree = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public <T> T as(Class<T> type) {
+        try {
+            return codec.treeToValue(asTree(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The encoded value as received, regardless of any change made through {@link #asTree()}.
+     * The returned array is shared and must not be modified.
+     */
+    public byte[] getBytes() {
+        return json;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(json);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RawJson other = (RawJson) o;
+        if (tree != null || other.tree != null) {
+            return asTree().equals(other.asTree());
+        }
+        return Arrays.equals(json, other.json);
+    }
+
+    @Override
+    public int hashCode() {
+        return asTree().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tree != null ? tree.toString() : new String(json, StandardCharsets.UTF_8);
+    }
+
+}
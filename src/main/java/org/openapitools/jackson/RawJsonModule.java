@@ -0,0 +1,426 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.base.ParserBase;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.core.json.UTF8StreamJsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.CreatorProperty;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the named free-form ({@code type: object}) model properties as {@link RawJson} instead
+ * of materialising them into maps, and writes {@link RawJson} values back without re-encoding.
+ *
+ * <p>Only properties declared as {@link Object} are affected, so typed properties that happen to
+ * share a name keep their regular deserializer. Objects and arrays read from UTF-8 JSON are
+ * sliced from the parser's input when they are fully buffered; other values, and other formats,
+ * are copied token by token.</p>
+ */
+public class RawJsonModule extends SimpleModule {
+
+    public RawJsonModule(Set<String> propertyNames) {
+        super(RawJsonModule.class.getSimpleName());
+        addSerializer(RawJson.class, new RawJsonSerializer());
+        setDeserializerModifier(new RawJsonPropertyModifier(new HashSet<>(propertyNames)));
+    }
+
+    private static final class RawJsonPropertyModifier extends BeanDeserializerModifier {
+
+        private final Set<String> propertyNames;
+        private final RawJsonDeserializer deserializer = new RawJsonDeserializer();
+
+        RawJsonPropertyModifier(Set<String> propertyNames) {
+            this.propertyNames = propertyNames;
+        }
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                     BeanDeserializerBuilder builder) {
+            ValueInstantiator instantiator = builder.getValueInstantiator();
+            SettableBeanProperty[] creatorProperties = instantiator == null ? null
+                    : instantiator.getFromObjectArguments(config);
+            List<SettableBeanProperty> replaced = new ArrayList<>();
+            for (Iterator<SettableBeanProperty> it = builder.getProperties(); it.hasNext(); ) {
+                SettableBeanProperty property = it.next();
+                if (propertyNames.contains(property.getName()) && property.getType().getRawClass() == Object.class) {
+                    replaced.add(property.withValueDeserializer(deserializer));
+                }
+            }
+            for (SettableBeanProperty property : replaced) {
+                builder.addOrReplaceProperty(property, true);
+                // Models bound through a @JsonCreator constructor read these values from the
+                // instantiator's own copy of the creator properties, so swap that entry as well.
+                if (creatorProperties != null && property instanceof CreatorProperty) {
+                    int index = property.getCreatorIndex();
+                    if (index >= 0 && index < creatorProperties.length) {
+                        creatorProperties[index] = property;
+                    }
+                }
+            }
+            return builder;
+        }
+
+    }
+
+    private static final class RawJsonDeserializer extends JsonDeserializer<RawJson> {
+
+        private static final JsonFactory FACTORY = new JsonFactory();
+
+        @Override
+        public RawJson deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            byte[] slice = SourceSlice.of(p);
+            if (slice != null) {
+                return new RawJson(slice, p.getCodec());
+            }
+            ByteArrayBuilder out = new ByteArrayBuilder(FACTORY._getBufferRecycler());
+            try {
+                try (JsonGenerator generator = FACTORY.createGenerator(out)) {
+                    copy(p, generator);
+                }
+                return new RawJson(out.toByteArray(), p.getCodec());
+            } finally {
+                out.release();
+            }
+        }
+
+        /**
+         * Copies the current value like {@link JsonGenerator#copyCurrentStructure(JsonParser)}, but
+         * keeps numbers in their original textual form so that amounts such as {@code 10.00} are
+         * not rewritten.
+         */
+        private static void copy(JsonParser p, JsonGenerator generator) throws IOException {
+            int depth = 0;
+            JsonToken token = p.currentToken();
+            while (true) {
+                switch (token) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        depth++;
+                        generator.copyCurrentEvent(p);
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        depth--;
+                        generator.copyCurrentEvent(p);
+                        break;
+                    case VALUE_NUMBER_INT:
+                    case VALUE_NUMBER_FLOAT:
+                        generator.writeNumber(p.getText());
+                        break;
+                    default:
+                        generator.copyCurrentEvent(p);
+                        break;
+                }
+                if (depth == 0) {
+                    return;
+                }
+                token = p.nextToken();
+            }
+        }
+
+    }
+
+    /**
+     * Takes an object or array straight from the input buffer of a UTF-8 JSON parser, which is
+     * the source array itself for byte array input and the current chunk for stream input, so
+     * the value is kept exactly as it was sent without re-encoding it token by token. The value
+     * is only sliced if it ends within the bytes already buffered, since a refill would overwrite
+     * its start; otherwise, and for any other parser, {@link #of} returns {@code null} and the
+     * caller copies tokens instead.
+     */
+    static final class SourceSlice {
+
+        private static final Class<?> PARSER_TYPE = UTF8StreamJsonParser.class;
+        private static final MethodHandle INPUT_BUFFER;
+        private static final MethodHandle INPUT_PTR;
+        private static final MethodHandle INPUT_END;
+
+        static {
+            MethodHandle inputBuffer = null;
+            MethodHandle inputPtr = null;
+            MethodHandle inputEnd = null;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                inputBuffer = lookup.unreflectGetter(accessible(UTF8StreamJsonParser.class.getDeclaredField("_inputBuffer")));
+                inputPtr = lookup.unreflectGetter(accessible(ParserBase.class.getDeclaredField("_inputPtr")));
+                inputEnd = lookup.unreflectGetter(accessible(ParserBase.class.getDeclaredField("_inputEnd")));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // another jackson-core layout: always copy tokens
+                inputBuffer = null;
+            }
+            INPUT_BUFFER = inputBuffer;
+            INPUT_PTR = inputPtr;
+            INPUT_END = inputEnd;
+        }
+
+        private SourceSlice() {
+        }
+
+        private static Field accessible(Field field) {
+            field.setAccessible(true);
+            return field;
+        }
+
+        /**
+         * The bytes of the object or array {@code p} is positioned at, after which {@code p} is
+         * positioned at its end token, or {@code null} if the value cannot be sliced.
+         */
+        static byte[] of(JsonParser p) throws IOException {
+            if (INPUT_BUFFER == null || p.getClass() != PARSER_TYPE || !p.isExpectedStartArrayToken()
+                    && !p.isExpectedStartObjectToken()) {
+                return null;
+            }
+            byte[] buffer;
+            int ptr;
+            int end;
+            try {
+                buffer = (byte[]) INPUT_BUFFER.invoke(p);
+                ptr = (int) INPUT_PTR.invoke(p);
+                end = (int) INPUT_END.invoke(p);
+            } catch (Throwable e) {
+                return null;
+            }
+            // the start token is the byte the parser consumed last
+            int start = ptr - 1;
+            if (buffer == null || start < 0 || buffer[start] != '{' && buffer[start] != '[') {
+                return null;
+            }
+            int valueEnd = scan(buffer, start, end);
+            if (valueEnd < 0) {
+                return null;
+            }
+            byte[] slice = Arrays.copyOfRange(buffer, start, valueEnd);
+            p.skipChildren();
+            return slice;
+        }
+
+        /**
+         * Index just past the object or array starting at {@code start}, or {@code -1} if it does
+         * not end before {@code end}.
+         */
+        private static int scan(byte[] buffer, int start, int end) {
+            int depth = 0;
+            boolean inString = false;
+            for (int i = start; i < end; i++) {
+                byte b = buffer[i];
+                if (inString) {
+                    if (b == '\\') {
+                        i++;
+                    } else if (b == '"') {
+                        inString = false;
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+
+    }
+
+    /**
+     * Copies unparsed values into textual JSON output as they are; other generators, such as
+     * CBOR and Smile, cannot take raw JSON and get the value's tokens instead.
+     */
+    private static final class RawJsonSerializer extends StdSerializer<RawJson> {
+
+        private static final JsonFactory FACTORY = new JsonFactory();
+
+        RawJsonSerializer() {
+            super(RawJson.class);
+        }
+
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (value.isParsed()) {
+                gen.writeTree(value.asTree());
+            } else if (gen instanceof JsonGeneratorImpl) {
+                gen.writeRawValue(new Utf8Slice(value.getBytes()));
+            } else {
+                try (JsonParser parser = FACTORY.createParser(value.getBytes())) {
+                    copyTokens(parser, gen);
+                }
+            }
+        }
+
+        /**
+         * Copies a whole value token by token, with decimals as {@link java.math.BigDecimal} so
+         * that they keep their precision in binary formats.
+         */
+        private static void copyTokens(JsonParser p, JsonGenerator generator) throws IOException {
+            int depth = 0;
+            do {
+                JsonToken token = p.nextToken();
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    depth++;
+                } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    depth--;
+                }
+                if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                    generator.writeNumber(p.getDecimalValue());
+                } else {
+                    generator.copyCurrentEvent(p);
+                }
+            } while (depth > 0);
+        }
+
+    }
+
+    /**
+     * Exposes encoded JSON to {@link JsonGenerator#writeRawValue(SerializableString)}, which byte
+     * based generators copy straight into their output buffer. The quoted forms, which raw
+     * values do not use, are encoded from the decoded text on demand.
+     */
+    private static final class Utf8Slice implements SerializableString {
+
+        private final byte[] utf8;
+        private String value;
+        private char[] quotedChars;
+        private byte[] quotedUtf8;
+
+        Utf8Slice(byte[] utf8) {
+            this.utf8 = utf8;
+        }
+
+        @Override
+        public String getValue() {
+            if (value == null) {
+                value = new String(utf8, StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+
+        @Override
+        public int charLength() {
+            return getValue().length();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            if (quotedChars == null) {
+                quotedChars = JsonStringEncoder.getInstance().quoteAsString(getValue());
+            }
+            return quotedChars;
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return utf8;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            if (quotedUtf8 == null) {
+                quotedUtf8 = JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+            }
+            return quotedUtf8;
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            byte[] quoted = asQuotedUTF8();
+            if (offset + quoted.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+            return quoted.length;
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            char[] quoted = asQuotedChars();
+            if (offset + quoted.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+            return quoted.length;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + utf8.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+            return utf8.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            String text = getValue();
+            if (offset + text.length() > buffer.length) {
+                return -1;
+            }
+            text.getChars(0, text.length(), buffer, offset);
+            return text.length();
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            byte[] quoted = asQuotedUTF8();
+            out.write(quoted);
+            return quoted.length;
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(utf8);
+            return utf8.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            byte[] quoted = asQuotedUTF8();
+            if (quoted.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(quoted);
+            return quoted.length;
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (utf8.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(utf8);
+            return utf8.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,391 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The filtered TPP headers forwarded in {@code requestHeaders}, held in two arrays in the order
+ * they were received instead of a map per request.
+ *
+ * <p>Well-known names are resolved against a fixed dictionary of interned constants through a
+ * case-insensitive hash table, so {@link #get(String)} finds them in constant time without
+ * lower-casing the argument; other names are compared one by one. The value is read from a JSON
+ * object whose values are strings (arrays are joined with {@code ", "}), or from a string holding
+ * such an object, as in the openapi.yaml examples. Instances are immutable.</p>
+ */
+@JsonSerialize(using = RequestHeaders.Serializer.class)
+@JsonDeserialize(using = RequestHeaders.Deserializer.class)
+public final class RequestHeaders {
+
+    public static final String ACCEPT = "accept";
+    public static final String ACCEPT_ENCODING = "accept-encoding";
+    public static final String ACCEPT_LANGUAGE = "accept-language";
+    public static final String AUTHORIZATION = "authorization";
+    public static final String CONTENT_LENGTH = "content-length";
+    public static final String CONTENT_TYPE = "content-type";
+    public static final String HOST = "host";
+    public static final String USER_AGENT = "user-agent";
+    public static final String X_CUSTOMER_USER_AGENT = "x-customer-user-agent";
+    public static final String X_FAPI_AUTH_DATE = "x-fapi-auth-date";
+    public static final String X_FAPI_CUSTOMER_IP_ADDRESS = "x-fapi-customer-ip-address";
+    public static final String X_FAPI_CUSTOMER_LAST_LOGGED_TIME = "x-fapi-customer-last-logged-time";
+    public static final String X_FAPI_FINANCIAL_ID = "x-fapi-financial-id";
+    public static final String X_FAPI_INTERACTION_ID = "x-fapi-interaction-id";
+    public static final String X_FORWARDED_FOR = "x-forwarded-for";
+    public static final String X_IDEMPOTENCY_KEY = "x-idempotency-key";
+    public static final String X_JWS_SIGNATURE = "x-jws-signature";
+    public static final String X_REQUEST_ID = "x-request-id";
+
+    private static final String[] DICTIONARY = {
+            ACCEPT, ACCEPT_ENCODING, ACCEPT_LANGUAGE, AUTHORIZATION, CONTENT_LENGTH, CONTENT_TYPE, HOST, USER_AGENT,
+            X_CUSTOMER_USER_AGENT, X_FAPI_AUTH_DATE, X_FAPI_CUSTOMER_IP_ADDRESS, X_FAPI_CUSTOMER_LAST_LOGGED_TIME,
+            X_FAPI_FINANCIAL_ID, X_FAPI_INTERACTION_ID, X_FORWARDED_FOR, X_IDEMPOTENCY_KEY, X_JWS_SIGNATURE,
+            X_REQUEST_ID};
+
+    private static final int TABLE_MASK = 63;
+    private static final byte[] EXACT = new byte[TABLE_MASK + 1];
+    private static final byte[] FOLDED = new byte[TABLE_MASK + 1];
+
+    static {
+        for (int i = 0; i < DICTIONARY.length; i++) {
+            put(EXACT, spread(DICTIONARY[i].hashCode()), i);
+            put(FOLDED, foldedHash(DICTIONARY[i]), i);
+        }
+    }
+
+    private static void put(byte[] table, int hash, int slot) {
+        int index = hash & TABLE_MASK;
+        while (table[index] != 0) {
+            index = (index + 1) & TABLE_MASK;
+        }
+        table[index] = (byte) (slot + 1);
+    }
+
+    private static final RequestHeaders EMPTY = new Builder(0).build();
+
+    private final String[] names;
+    private final String[] values;
+    private final int[] positions;
+
+    private RequestHeaders(String[] names, String[] values, int[] positions) {
+        this.names = names;
+        this.values = values;
+        this.positions = positions;
+    }
+
+    public static RequestHeaders empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Copies the given headers; later entries replace earlier ones whose names only differ in case.
+     */
+    public static RequestHeaders of(Map<String, String> headers) {
+        Builder builder = new Builder(headers.size());
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            builder.put(header.getKey(), header.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the value of the named header, ignoring case, or {@code null} if it is absent.
+     */
+    public String get(String name) {
+        int position = position(name);
+        return position < 0 ? null : values[position];
+    }
+
+    public boolean contains(String name) {
+        return position(name) >= 0;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    /**
+     * Name of the header at {@code index}, in the order the headers were received.
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    public Map<String, String> toMap() {
+        Map<String, String> map = new LinkedHashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            map.put(names[i], values[i]);
+        }
+        return map;
+    }
+
+    private int position(String name) {
+        int slot = slot(name);
+        if (slot >= 0) {
+            return positions[slot] - 1;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Dictionary slot of a header name regardless of case, or -1 if it is not a well-known name.
+     * Names spelled exactly as in the dictionary, such as JSON keys and the constants, are found
+     * through their cached {@link String#hashCode()}; other spellings are hashed case-insensitively.
+     */
+    private static int slot(String name) {
+        int index = spread(name.hashCode()) & TABLE_MASK;
+        int entry;
+        while ((entry = EXACT[index]) != 0) {
+            String candidate = DICTIONARY[entry - 1];
+            if (candidate == name || candidate.equals(name)) {
+                return entry - 1;
+            }
+            index = (index + 1) & TABLE_MASK;
+        }
+        index = foldedHash(name) & TABLE_MASK;
+        while ((entry = FOLDED[index]) != 0) {
+            if (equalsFolded(DICTIONARY[entry - 1], name)) {
+                return entry - 1;
+            }
+            index = (index + 1) & TABLE_MASK;
+        }
+        return -1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Case-insensitive hash over the length and three sampled characters, which is enough to
+     * spread the dictionary and keeps lookups independent of the name length.
+     */
+    private static int foldedHash(String name) {
+        int length = name.length();
+        if (length == 0) {
+            return 0;
+        }
+        int hash = length;
+        hash = 31 * hash + fold(name.charAt(length - 1));
+        hash = 31 * hash + fold(name.charAt(length >> 1));
+        hash = 31 * hash + fold(name.charAt(length >> 2));
+        return hash ^ (hash >>> 6);
+    }
+
+    /**
+     * Whether {@code name} matches a lower-case dictionary entry, ignoring ASCII case.
+     */
+    private static boolean equalsFolded(String lowerCase, String name) {
+        if (lowerCase.length() != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (fold(name.charAt(i)) != lowerCase.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char fold(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RequestHeaders other = (RequestHeaders) o;
+        if (names.length != other.names.length) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            int position = other.position(names[i]);
+            if (position < 0 || !Objects.equals(values[i], other.values[position])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int i = 0; i < names.length; i++) {
+            hash += foldedHash(names[i]) ^ Objects.hashCode(values[i]);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    private static final class Builder {
+
+        private String[] names;
+        private String[] values;
+        private final int[] positions = new int[DICTIONARY.length];
+        private int size;
+
+        Builder(int capacity) {
+            this.names = new String[capacity];
+            this.values = new String[capacity];
+        }
+
+        void put(String name, String value) {
+            int slot = slot(name);
+            int position = slot >= 0 ? positions[slot] - 1 : unknownPosition(name);
+            if (position >= 0) {
+                values[position] = value;
+                return;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, Math.max(4, size * 2));
+                values = Arrays.copyOf(values, names.length);
+            }
+            if (slot >= 0) {
+                positions[slot] = size + 1;
+                if (DICTIONARY[slot].equals(name)) {
+                    name = DICTIONARY[slot];
+                }
+            }
+            names[size] = name;
+            values[size] = value;
+            size++;
+        }
+
+        private int unknownPosition(String name) {
+            for (int i = 0; i < size; i++) {
+                if (slot(names[i]) < 0 && names[i].equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        RequestHeaders build() {
+            if (size < names.length) {
+                names = Arrays.copyOf(names, size);
+                values = Arrays.copyOf(values, size);
+            }
+            return new RequestHeaders(names, values, positions);
+        }
+
+    }
+
+    static final class Serializer extends StdSerializer<RequestHeaders> {
+
+        Serializer() {
+            super(RequestHeaders.class);
+        }
+
+        @Override
+        public void serialize(RequestHeaders headers, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(headers);
+            for (int i = 0; i < headers.names.length; i++) {
+                gen.writeFieldName(headers.names[i]);
+                if (headers.values[i] == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeString(headers.values[i]);
+                }
+            }
+            gen.writeEndObject();
+        }
+
+    }
+
+    static final class Deserializer extends StdDeserializer<RequestHeaders> {
+
+        private static final JsonFactory JSON = new JsonFactory();
+
+        Deserializer() {
+            super(RequestHeaders.class);
+        }
+
+        @Override
+        public RequestHeaders deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_STRING) {
+                String text = p.getText().trim();
+                if (text.isEmpty()) {
+                    return EMPTY;
+                }
+                // the string holds JSON even when the request itself is CBOR or Smile
+                try (JsonParser nested = JSON.createParser(text)) {
+                    nested.nextToken();
+                    return deserialize(nested, ctxt);
+                }
+            }
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+                return (RequestHeaders) ctxt.handleUnexpectedToken(RequestHeaders.class, p);
+            }
+            Builder builder = new Builder(8);
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.getCurrentName();
+                builder.put(name, value(p, ctxt, p.nextToken()));
+            }
+            return builder.size == 0 ? EMPTY : builder.build();
+        }
+
+        private static String value(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (token.isScalarValue()) {
+                return p.getText();
+            }
+            if (token == JsonToken.START_ARRAY) {
+                StringBuilder joined = new StringBuilder();
+                while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+                    if (!token.isScalarValue()) {
+                        return (String) ctxt.handleUnexpectedToken(String.class, p);
+                    }
+                    if (joined.length() > 0) {
+                        joined.append(", ");
+                    }
+                    joined.append(p.getText());
+                }
+                return joined.toString();
+            }
+            return (String) ctxt.handleUnexpectedToken(String.class, p);
+        }
+
+    }
+
+}
@@ -0,0 +1,259 @@
+package org.openapitools.jackson;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Thread-safe RFC 3339 codec producing the same text as the Jackson {@code StdDateFormat} the
+ * contract was generated with ({@code 2024-01-31T10:15:30.000+00:00}). Dates are proleptic
+ * Gregorian, so values before the 1582 cutover differ from {@code StdDateFormat}'s Julian ones.
+ *
+ * <p>Formatting writes ASCII bytes directly; the {@code yyyy-MM-ddTHH:mm:ss} prefix of the most
+ * recently formatted second is cached, since timestamps written close together mostly share it.
+ * The epoch-second helpers cover the integer timestamp fields of the contract, such as
+ * {@code createdTime}, {@code updatedTime} and {@code validityTime}.</p>
+ */
+public final class Rfc3339 {
+
+    /**
+     * Length of every formatted value between years 0 and 9999.
+     */
+    public static final int LENGTH = 29;
+
+    private static final int PREFIX_LENGTH = 19;
+    private static final byte[] UTC_SUFFIX = "+00:00".getBytes(StandardCharsets.US_ASCII);
+    private static final DateTimeFormatter FALLBACK = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSSxxx")
+            .withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter LENIENT_PARSER = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .append(DateTimeFormatter.ISO_LOCAL_DATE)
+            .optionalStart()
+            .appendLiteral('T')
+            .append(DateTimeFormatter.ISO_LOCAL_TIME)
+            .optionalStart()
+            .appendOffset("+HH:MM", "Z")
+            .optionalEnd()
+            .optionalStart()
+            .appendOffset("+HHMM", "Z")
+            .optionalEnd()
+            .optionalEnd()
+            .toFormatter();
+
+    private static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private static volatile Prefix lastPrefix = new Prefix(Long.MIN_VALUE, new byte[PREFIX_LENGTH]);
+
+    private Rfc3339() {
+    }
+
+    public static String format(long epochMillis) {
+        byte[] buffer = new byte[LENGTH];
+        int length = format(epochMillis, buffer, 0);
+        return length < 0 ? FALLBACK.format(Instant.ofEpochMilli(epochMillis))
+                : new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    public static String formatEpochSecond(long epochSecond) {
+        return format(epochSecond * 1000);
+    }
+
+    /**
+     * Writes the value as ASCII into the buffer, which needs {@link #LENGTH} bytes from the
+     * offset. Returns the number of bytes written, or -1 for years outside 0 to 9999, which have
+     * to go through {@link #format(long)}.
+     */
+    public static int format(long epochMillis, byte[] buffer, int offset) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000);
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        Prefix prefix = lastPrefix;
+        if (prefix.epochSecond != epochSecond) {
+            LocalDateTime time = LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+            if (time.getYear() < 0 || time.getYear() > 9999) {
+                return -1;
+            }
+            prefix = new Prefix(epochSecond, prefix(time));
+            lastPrefix = prefix;
+        }
+        System.arraycopy(prefix.bytes, 0, buffer, offset, PREFIX_LENGTH);
+        int i = offset + PREFIX_LENGTH;
+        buffer[i++] = '.';
+        buffer[i++] = (byte) ('0' + millis / 100);
+        buffer[i++] = (byte) ('0' + millis / 10 % 10);
+        buffer[i++] = (byte) ('0' + millis % 10);
+        System.arraycopy(UTC_SUFFIX, 0, buffer, i, UTC_SUFFIX.length);
+        return LENGTH;
+    }
+
+    private static byte[] prefix(LocalDateTime time) {
+        byte[] bytes = new byte[PREFIX_LENGTH];
+        digits(bytes, 0, time.getYear(), 4);
+        bytes[4] = '-';
+        digits(bytes, 5, time.getMonthValue(), 2);
+        bytes[7] = '-';
+        digits(bytes, 8, time.getDayOfMonth(), 2);
+        bytes[10] = 'T';
+        digits(bytes, 11, time.getHour(), 2);
+        bytes[13] = ':';
+        digits(bytes, 14, time.getMinute(), 2);
+        bytes[16] = ':';
+        digits(bytes, 17, time.getSecond(), 2);
+        return bytes;
+    }
+
+    private static void digits(byte[] bytes, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Parses an RFC 3339 date-time. A missing offset is read as UTC and a plain date as its
+     * start of day in UTC, as {@code StdDateFormat} did; a plain number is taken as epoch millis.
+     * The {@code yyyy-MM-ddTHH:mm:ss[.fraction][offset]} form is read directly; other forms and
+     * invalid values go through a lenient {@link DateTimeFormatter}.
+     */
+    public static long parseMillis(CharSequence text) {
+        if (isNumber(text)) {
+            return Long.parseLong(text.toString());
+        }
+        long millis = parseDateTime(text);
+        if (millis != NOT_PARSED) {
+            return millis;
+        }
+        TemporalAccessor parsed = LENIENT_PARSER.parse(text);
+        if (!parsed.isSupported(ChronoField.HOUR_OF_DAY)) {
+            return LocalDate.from(parsed).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        }
+        LocalDateTime time = LocalDateTime.from(parsed);
+        ZoneOffset offset = parsed.isSupported(ChronoField.OFFSET_SECONDS) ? ZoneOffset.from(parsed) : ZoneOffset.UTC;
+        return OffsetDateTime.of(time, offset).toInstant().toEpochMilli();
+    }
+
+    public static long parseEpochSecond(CharSequence text) {
+        return Math.floorDiv(parseMillis(text), 1000);
+    }
+
+    /**
+     * Reads a complete date-time with seconds and an optional fraction and offset, or returns
+     * {@link #NOT_PARSED} for anything else, including out-of-range fields.
+     */
+    private static long parseDateTime(CharSequence text) {
+        int length = text.length();
+        if (length < PREFIX_LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-'
+                || (text.charAt(10) != 'T' && text.charAt(10) != 't')
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return NOT_PARSED;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year)) || hour > 23 || minute > 59 || second > 59) {
+            return NOT_PARSED;
+        }
+        int i = PREFIX_LENGTH;
+        int millis = 0;
+        if (i < length && text.charAt(i) == '.') {
+            int start = ++i;
+            while (i < length && i - start < 9 && isDigit(text.charAt(i))) {
+                if (i - start < 3) {
+                    millis = millis * 10 + (text.charAt(i) - '0');
+                }
+                i++;
+            }
+            if (i == start) {
+                return NOT_PARSED;
+            }
+            for (int scale = i - start; scale < 3; scale++) {
+                millis *= 10;
+            }
+        }
+        int offsetSeconds = 0;
+        if (i < length) {
+            char sign = text.charAt(i++);
+            if ((sign == 'Z' || sign == 'z') && i == length) {
+                offsetSeconds = 0;
+            } else if (sign == '+' || sign == '-') {
+                int offsetHours = digits(text, i, 2);
+                int colon = i + 2 < length && text.charAt(i + 2) == ':' ? 1 : 0;
+                int offsetMinutes = digits(text, i + 2 + colon, 2);
+                if (offsetHours < 0 || offsetMinutes < 0 || i + 4 + colon != length
+                        || offsetMinutes > 59 || offsetHours * 60 + offsetMinutes > 18 * 60) {
+                    return NOT_PARSED;
+                }
+                offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (sign == '-' ? -1 : 1);
+            } else {
+                return NOT_PARSED;
+            }
+        }
+        long epochSecond = LocalDate.of(year, month, day).toEpochDay() * 86_400
+                + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return epochSecond * 1000 + millis;
+    }
+
+    /**
+     * Value of the decimal digits at {@code offset}, or -1 if any is missing or not a digit.
+     */
+    private static int digits(CharSequence text, int offset, int count) {
+        if (offset + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNumber(CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = text.charAt(0) == '-' && length > 1 ? 1 : 0; i < length; i++) {
+            if (text.charAt(i) < '0' || text.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cached {@code yyyy-MM-ddTHH:mm:ss} text of one epoch second; immutable so that it can be
+     * swapped in and out of the shared field without locking.
+     */
+    private static final class Prefix {
+
+        final long epochSecond;
+        final byte[] bytes;
+
+        Prefix(long epochSecond, byte[] bytes) {
+            this.epochSecond = epochSecond;
+            this.bytes = bytes;
+        }
+
+    }
+
+}
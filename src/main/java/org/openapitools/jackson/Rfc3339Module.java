@@ -0,0 +1,84 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.util.Date;
+
+/**
+ * Reads and writes {@link Date} values with the {@link Rfc3339} codec. With a byte based
+ * generator the formatted bytes are handed over without an intermediate string.
+ */
+public class Rfc3339Module extends SimpleModule {
+
+    public Rfc3339Module() {
+        super(Rfc3339Module.class.getSimpleName());
+        addSerializer(Date.class, new DateSerializer());
+        addDeserializer(Date.class, new DateDeserializer());
+    }
+
+    private static final class DateSerializer extends StdScalarSerializer<Date> {
+
+        private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[Rfc3339.LENGTH]);
+
+        DateSerializer() {
+            super(Date.class);
+        }
+
+        @Override
+        public void serialize(Date value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+                gen.writeNumber(value.getTime());
+                return;
+            }
+            if (gen instanceof UTF8JsonGenerator) {
+                byte[] buffer = BUFFER.get();
+                int length = Rfc3339.format(value.getTime(), buffer, 0);
+                if (length > 0) {
+                    gen.writeRawUTF8String(buffer, 0, length);
+                    return;
+                }
+            }
+            gen.writeString(Rfc3339.format(value.getTime()));
+        }
+
+    }
+
+    private static final class DateDeserializer extends StdScalarDeserializer<Date> {
+
+        DateDeserializer() {
+            super(Date.class);
+        }
+
+        @Override
+        public Date deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return new Date(p.getLongValue());
+            }
+            if (!p.hasToken(JsonToken.VALUE_STRING)) {
+                return (Date) ctxt.handleUnexpectedToken(Date.class, p);
+            }
+            String text = p.getText().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return new Date(Rfc3339.parseMillis(text));
+            } catch (DateTimeException | NumberFormatException e) {
+                return (Date) ctxt.handleWeirdStringValue(Date.class, text, "not a valid RFC 3339 date-time");
+            }
+        }
+
+    }
+
+}
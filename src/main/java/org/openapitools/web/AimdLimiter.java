@@ -0,0 +1,83 @@
+package org.openapitools.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Adaptive concurrency limit using additive increase / multiplicative decrease.
+ *
+ * <p>Every call completing within the latency threshold while the limiter is at least half used
+ * grows the limit by {@code 1 / limit}, i.e. by roughly one per round of calls. A call that is
+ * slower than the threshold or fails shrinks the limit by the backoff ratio, at most once per
+ * round trip: calls that started before the last decrease ran under the old limit and do not
+ * shrink it again. The limit is kept between the configured minimum and maximum.</p>
+ */
+public class AimdLimiter {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+    private final double minLimit;
+    private final double maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Claims a slot, or returns {@code false} when the current limit is reached.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot claimed by {@link #tryAcquire()} and feeds the outcome into the limit.
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            long now = System.nanoTime();
+            long lastDecrease = lastDecreaseNanos.get();
+            if (now - latencyNanos - lastDecrease > 0 && lastDecreaseNanos.compareAndSet(lastDecrease, now)) {
+                update(limit -> Math.max(minLimit, limit * backoffRatio));
+            }
+        } else if (current * 2 >= getLimit()) {
+            update(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    private void update(DoubleUnaryOperator function) {
+        while (true) {
+            long bits = limitBits.get();
+            double next = function.applyAsDouble(Double.longBitsToDouble(bits));
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package org.openapitools.web;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of calls running concurrently in one compartment, with a bounded number of
+ * callers allowed to wait for a slot. Callers beyond that bound, or waiting longer than the
+ * configured maximum, are turned away so they never pile up on the shared container threads.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxWaiting;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    public Bulkhead(String name, int maxConcurrent, int maxWaiting, long maxWaitNanos) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaiting = maxWaiting;
+        this.maxWaitNanos = maxWaitNanos;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    /**
+     * Claims a slot, waiting for one if the queue bound allows it. Returns {@code false} when the
+     * call has to be rejected.
+     */
+    public boolean tryEnter() throws InterruptedException {
+        return tryEnter(maxWaitNanos);
+    }
+
+    /**
+     * Like {@link #tryEnter()}, waiting at most the smaller of the configured maximum and the
+     * given time.
+     */
+    public boolean tryEnter(long maxWaitNanos) throws InterruptedException {
+        maxWaitNanos = Math.min(maxWaitNanos, this.maxWaitNanos);
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (maxWaitNanos <= 0 || waiting.incrementAndGet() > maxWaiting) {
+            if (maxWaitNanos > 0) {
+                waiting.decrementAndGet();
+            }
+            return false;
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Releases a slot claimed by {@link #tryEnter()}.
+     */
+    public void exit() {
+        permits.release();
+    }
+
+}
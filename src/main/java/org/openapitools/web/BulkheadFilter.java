@@ -0,0 +1,155 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.api.ApiUtil;
+import org.openapitools.api.Deadline;
+import org.openapitools.api.ExtensionOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Isolates extension traffic into {@link Bulkhead} compartments when
+ * {@code openapi.extension.bulkhead.enabled=true}, so that a flood of machine-to-machine calls
+ * (event polling, DCR) cannot take every container thread away from the user-facing
+ * {@code Authorize} and {@code Consent} operations.
+ *
+ * <p>Every tag gets its own compartment, named after the tag in lower case with spaces replaced
+ * by dashes ({@code event-polling}). An operation can be moved into a compartment of its own by
+ * configuring it under {@code openapi.extension.bulkhead.operations.<operationId>}. Each
+ * compartment reads {@code max-concurrent}, {@code max-waiting} and {@code max-wait} from its
+ * {@code tags.<name>} or {@code operations.<operationId>} section, falling back to the values
+ * directly under {@code openapi.extension.bulkhead}. Callers never wait past their
+ * {@link Deadline}: a call whose deadline has passed, before or while it waits, gets the 504
+ * {@code ErrorResponse} of the {@link DeadlineFilter}. Other rejected calls get a 503
+ * {@code ErrorResponse}. Active and waiting calls and rejections are published as
+ * {@code extension.bulkhead.active}, {@code extension.bulkhead.waiting} and
+ * {@code extension.bulkhead.rejections}, tagged with the compartment name.</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 175)
+@ConditionalOnProperty(name = "openapi.extension.bulkhead.enabled", havingValue = "true")
+public class BulkheadFilter extends ExtensionOperationFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkheadFilter.class);
+
+    private static final String PREFIX = "openapi.extension.bulkhead.";
+
+    private final Map<ExtensionOperation, Compartment> compartments = new EnumMap<>(ExtensionOperation.class);
+    private final byte[] deadlineExceeded;
+
+    public BulkheadFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                          @Value("${" + PREFIX + "max-concurrent:50}") int maxConcurrent,
+                          @Value("${" + PREFIX + "max-waiting:50}") int maxWaiting,
+                          @Value("${" + PREFIX + "max-wait:1s}") Duration maxWait,
+                          Environment environment, ObjectMapper objectMapper, MeterRegistry registry)
+            throws JsonProcessingException {
+        super(basePath);
+        this.deadlineExceeded = objectMapper.writeValueAsString(ApiUtil.errorResponse("deadline_exceeded",
+                "The caller is no longer waiting for this response")).getBytes(StandardCharsets.UTF_8);
+        Map<String, Compartment> byName = new HashMap<>();
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            String section = PREFIX + "operations." + operation.getOperationId() + ".";
+            String name = operation.getOperationId();
+            if (!isConfigured(environment, section)) {
+                name = operation.getTag().toLowerCase(Locale.ROOT).replace(' ', '-');
+                section = PREFIX + "tags." + name + ".";
+            }
+            Compartment compartment = byName.get(name);
+            if (compartment == null) {
+                Bulkhead bulkhead = new Bulkhead(name,
+                        environment.getProperty(section + "max-concurrent", Integer.class, maxConcurrent),
+                        environment.getProperty(section + "max-waiting", Integer.class, maxWaiting),
+                        environment.getProperty(section + "max-wait", Duration.class, maxWait).toNanos());
+                byte[] rejection = objectMapper.writeValueAsString(ApiUtil.errorResponse("server_busy",
+                        "Too many concurrent calls in " + name)).getBytes(StandardCharsets.UTF_8);
+                Counter rejections = Counter.builder("extension.bulkhead.rejections")
+                        .tag("bulkhead", name).register(registry);
+                Gauge.builder("extension.bulkhead.active", bulkhead, Bulkhead::getActive)
+                        .tag("bulkhead", name).register(registry);
+                Gauge.builder("extension.bulkhead.waiting", bulkhead, Bulkhead::getWaiting)
+                        .tag("bulkhead", name).register(registry);
+                compartment = new Compartment(bulkhead, rejection, rejections);
+                byName.put(name, compartment);
+            }
+            compartments.put(operation, compartment);
+        }
+        log.info("Extension bulkheads: {}", byName.keySet());
+    }
+
+    private static boolean isConfigured(Environment environment, String section) {
+        return environment.containsProperty(section + "max-concurrent")
+                || environment.containsProperty(section + "max-waiting")
+                || environment.containsProperty(section + "max-wait");
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Compartment compartment = compartments.get(operation);
+        Deadline deadline = Deadline.current();
+        boolean entered;
+        try {
+            entered = deadline == null ? compartment.bulkhead.tryEnter()
+                    : !deadline.isExpired() && compartment.bulkhead.tryEnter(deadline.remaining(TimeUnit.NANOSECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered && deadline != null && (deadline.isCancelled() || deadline.isExpired())) {
+            response.setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+            ApiUtil.writeResponse(response, MediaType.APPLICATION_JSON_VALUE, deadlineExceeded);
+            return;
+        }
+        if (!entered) {
+            compartment.rejections.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            ApiUtil.writeResponse(response, MediaType.APPLICATION_JSON_VALUE, compartment.rejection);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            compartment.bulkhead.exit();
+        }
+    }
+
+    private static final class Compartment {
+
+        final Bulkhead bulkhead;
+        final byte[] rejection;
+        final Counter rejections;
+
+        Compartment(Bulkhead bulkhead, byte[] rejection, Counter rejections) {
+            this.bulkhead = bulkhead;
+            this.rejection = rejection;
+            this.rejections = rejections;
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package org.openapitools.web;
+
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request wrapper that reads the body once so filters can inspect it before it is replayed
+ * to the rest of the chain.
+ *
+ * <p>{@link #of(HttpServletRequest, long)} buffers at most a given number of bytes. A longer
+ * body is left {@linkplain #isComplete() incomplete}: the bytes read so far are replayed ahead of
+ * the rest of the original stream, so the chain still sees the whole body.</p>
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+    private final InputStream remainder;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException {
+        this(request, StreamUtils.copyToByteArray(request.getInputStream()));
+    }
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body) {
+        this(request, body, null);
+    }
+
+    private CachedBodyHttpServletRequest(HttpServletRequest request, byte[] body, InputStream remainder) {
+        super(request);
+        this.body = body;
+        this.remainder = remainder;
+    }
+
+    /**
+     * Returns the cached request of a filter chain, wrapping the given request if no filter did so yet.
+     */
+    public static CachedBodyHttpServletRequest of(HttpServletRequest request) throws IOException {
+        if (request instanceof CachedBodyHttpServletRequest) {
+            return (CachedBodyHttpServletRequest) request;
+        }
+        return new CachedBodyHttpServletRequest(request);
+    }
+
+    /**
+     * Like {@link #of(HttpServletRequest)}, but buffers no more than {@code maxSize} bytes of the
+     * body; the result is incomplete if the body is longer.
+     */
+    public static CachedBodyHttpServletRequest of(HttpServletRequest request, long maxSize) throws IOException {
+        if (request instanceof CachedBodyHttpServletRequest) {
+            return (CachedBodyHttpServletRequest) request;
+        }
+        InputStream in = request.getInputStream();
+        if (request.getContentLengthLong() > maxSize) {
+            return new CachedBodyHttpServletRequest(request, new byte[0], in);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(32, request.getContentLength()));
+        byte[] buffer = new byte[StreamUtils.BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > maxSize) {
+                return new CachedBodyHttpServletRequest(request, out.toByteArray(), in);
+            }
+        }
+        return new CachedBodyHttpServletRequest(request, out.toByteArray());
+    }
+
+    /**
+     * Whether the whole body was buffered; only then does {@link #getBody()} return it.
+     */
+    public boolean isComplete() {
+        return remainder == null;
+    }
+
+    public byte[] getBody() {
+        if (remainder != null) {
+            throw new IllegalStateException("The request body exceeds the buffered size");
+        }
+        return body;
+    }
+
+    @Override
+    public int getContentLength() {
+        return remainder == null ? body.length : super.getContentLength();
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return remainder == null ? body.length : super.getContentLengthLong();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        InputStream in = remainder == null ? new ByteArrayInputStream(body)
+                : new SequenceInputStream(new ByteArrayInputStream(body), remainder);
+        return new ServletInputStream() {
+
+            private boolean finished;
+
+            @Override
+            public boolean isFinished() {
+                return finished || remainder == null && ((ByteArrayInputStream) in).available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            /**
+             * The body is read with blocking calls, so the listener is told right away that all
+             * of it is available.
+             */
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                try {
+                    readListener.onDataAvailable();
+                    readListener.onAllDataRead();
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                finished = b == -1;
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = in.read(b, off, len);
+                finished = read == -1;
+                return read;
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+}
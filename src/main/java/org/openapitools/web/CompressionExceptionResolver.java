@@ -0,0 +1,41 @@
+package org.openapitools.web;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Answers a gzip request body that inflates to more than the maximum size with a 413 on the
+ * Spring MVC path, which would otherwise report the read error wrapped in
+ * {@link org.springframework.http.converter.HttpMessageNotReadableException} as a 400.
+ * {@link CompressionFilter} does the same for the router filter.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "openapi.extension.compression.enabled", havingValue = "true")
+public class CompressionExceptionResolver implements HandlerExceptionResolver {
+
+    @Override
+    public ModelAndView resolveException(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Exception ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof GzipHttpServletRequest.InflatedSizeExceededException) {
+                try {
+                    response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, cause.getMessage());
+                } catch (IOException e) {
+                    return null;
+                }
+                return new ModelAndView();
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.openapitools.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.api.ExtensionOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Negotiates gzip for extension calls when {@code openapi.extension.compression.enabled=true}:
+ * responses of at least {@code min-size} bytes are compressed while they are written if the
+ * caller sends {@code Accept-Encoding: gzip}, and {@code Content-Encoding: gzip} request bodies
+ * are inflated while they are read. Deflaters and inflaters come from a {@link ZlibPool}.
+ *
+ * <p>{@code min-size} and {@code level} can be overridden per operation with
+ * {@code openapi.extension.compression.operations.<operationId>.min-size} and {@code .level},
+ * typically to compress the bulk consent search and event polling responses more eagerly than
+ * the small calls. Request bodies that are not valid gzip are rejected with a 400, and bodies
+ * inflating to more than {@code max-inflated-size} bytes with a 413. Sizes of compressed responses are recorded in
+ * {@code extension.compression.original-size} and {@code extension.compression.compressed-size},
+ * tagged with the operation id.</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 300)
+@ConditionalOnProperty(name = "openapi.extension.compression.enabled", havingValue = "true")
+public class CompressionFilter extends ExtensionOperationFilter {
+
+    private static final String PREFIX = "openapi.extension.compression.";
+
+    private final ZlibPool pool;
+    private final long maxInflatedSize;
+    private final Map<ExtensionOperation, Setting> settings = new EnumMap<>(ExtensionOperation.class);
+
+    public CompressionFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                             @Value("${" + PREFIX + "min-size:2KB}") DataSize minSize,
+                             @Value("${" + PREFIX + "level:6}") int level,
+                             @Value("${" + PREFIX + "max-inflated-size:100MB}") DataSize maxInflatedSize,
+                             @Value("${" + PREFIX + "max-pooled:64}") int maxPooled,
+                             Environment environment, MeterRegistry registry) {
+        super(basePath);
+        this.pool = new ZlibPool(maxPooled, registry);
+        this.maxInflatedSize = maxInflatedSize.toBytes();
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            String section = PREFIX + "operations." + operation.getOperationId() + ".";
+            DataSize operationMinSize = environment.getProperty(section + "min-size", DataSize.class, minSize);
+            int operationLevel = environment.getProperty(section + "level", Integer.class, level);
+            if (operationLevel < 1 || operationLevel > 9) {
+                throw new IllegalArgumentException("Compression level of " + operation.getOperationId()
+                        + " must be between 1 and 9: " + operationLevel);
+            }
+            settings.put(operation, new Setting((int) Math.min(operationMinSize.toBytes(), Integer.MAX_VALUE), operationLevel,
+                    DistributionSummary.builder("extension.compression.original-size").baseUnit("bytes")
+                            .tag("operation", operation.getOperationId()).register(registry),
+                    DistributionSummary.builder("extension.compression.compressed-size").baseUnit("bytes")
+                            .tag("operation", operation.getOperationId()).register(registry)));
+        }
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        HttpServletResponse originalResponse = response;
+        GzipHttpServletRequest gzipRequest = null;
+        if (GzipHttpServletRequest.isGzip(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            gzipRequest = new GzipHttpServletRequest(request, pool, maxInflatedSize);
+            request = gzipRequest;
+        }
+        GzipHttpServletResponse gzipResponse = null;
+        if (!"HEAD".equals(request.getMethod())) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (GzipHttpServletResponse.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                Setting setting = settings.get(operation);
+                gzipResponse = new GzipHttpServletResponse(response, pool, setting.minSize, setting.level);
+                response = gzipResponse;
+            }
+        }
+        RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+        if (gzipRequest != null || gzipResponse != null) {
+            // handlers reach the response through the request context, bound before this filter
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        }
+        try {
+            filterChain.doFilter(request, response);
+            if (gzipResponse != null) {
+                gzipResponse.finish();
+                if (gzipResponse.isCompressed()) {
+                    Setting setting = settings.get(operation);
+                    setting.originalSizes.record(gzipResponse.getOriginalSize());
+                    setting.compressedSizes.record(gzipResponse.getCompressedSize());
+                }
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            // the handler either let the read error through or wrapped it, so ask the request
+            IOException failure = gzipRequest != null ? gzipRequest.getFailure() : null;
+            if (failure == null || originalResponse.isCommitted()) {
+                throw e;
+            }
+            originalResponse.sendError(failure instanceof GzipHttpServletRequest.InflatedSizeExceededException
+                    ? HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE : HttpServletResponse.SC_BAD_REQUEST,
+                    failure.getMessage());
+        } finally {
+            RequestContextHolder.setRequestAttributes(previous);
+            if (gzipResponse != null) {
+                gzipResponse.release();
+            }
+            if (gzipRequest != null) {
+                gzipRequest.release();
+            }
+        }
+    }
+
+    private static final class Setting {
+
+        final int minSize;
+        final int level;
+        final DistributionSummary originalSizes;
+        final DistributionSummary compressedSizes;
+
+        Setting(int minSize, int level, DistributionSummary originalSizes, DistributionSummary compressedSizes) {
+            this.minSize = minSize;
+            this.level = level;
+            this.originalSizes = originalSizes;
+            this.compressedSizes = compressedSizes;
+        }
+
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.api.ApiUtil;
+import org.openapitools.api.DeadlineExceededException;
+import org.openapitools.api.ExtensionOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Guards each extension operation with its own {@link AimdLimiter} when
+ * {@code openapi.extension.concurrency-limit.enabled=true}. Calls over the limit are rejected
+ * immediately with a pre-serialized 503 {@code ErrorResponse} instead of queueing in Tomcat.
+ * Only signs of overload count as failed: a {@code 503} or {@code 504} status, or an exception
+ * caused by a timeout. Other errors, such as the {@code 501} of a generated stub, say nothing
+ * about capacity and are judged by their latency alone.
+ *
+ * <p>Limits are configured under {@code openapi.extension.concurrency-limit}; the latency
+ * threshold can be overridden per operation with
+ * {@code openapi.extension.concurrency-limit.operations.<operationId>.latency-threshold}.
+ * The current limit, in-flight count and rejections are published as
+ * {@code extension.concurrency.limit}, {@code extension.concurrency.in-flight} and
+ * {@code extension.concurrency.rejections}, tagged with the operation id.</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 150)
+@ConditionalOnProperty(name = "openapi.extension.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitFilter extends ExtensionOperationFilter {
+
+    private static final String PREFIX = "openapi.extension.concurrency-limit.";
+
+    private final Map<ExtensionOperation, Guard> guards = new EnumMap<>(ExtensionOperation.class);
+
+    public ConcurrencyLimitFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                                  @Value("${" + PREFIX + "initial-limit:20}") int initialLimit,
+                                  @Value("${" + PREFIX + "min-limit:2}") int minLimit,
+                                  @Value("${" + PREFIX + "max-limit:200}") int maxLimit,
+                                  @Value("${" + PREFIX + "backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${" + PREFIX + "latency-threshold:500ms}") Duration latencyThreshold,
+                                  Environment environment, ObjectMapper objectMapper, MeterRegistry registry)
+            throws JsonProcessingException {
+        super(basePath);
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            Duration threshold = environment.getProperty(
+                    PREFIX + "operations." + operation.getOperationId() + ".latency-threshold", Duration.class, latencyThreshold);
+            AimdLimiter limiter = new AimdLimiter(initialLimit, minLimit, maxLimit, backoffRatio, threshold.toNanos());
+            byte[] rejection = objectMapper.writeValueAsString(ApiUtil.errorResponse("server_busy",
+                    "Concurrency limit reached for " + operation.getOperationId())).getBytes(StandardCharsets.UTF_8);
+            Counter rejections = Counter.builder("extension.concurrency.rejections")
+                    .tag("operation", operation.getOperationId()).register(registry);
+            Gauge.builder("extension.concurrency.limit", limiter, AimdLimiter::getLimit)
+                    .tag("operation", operation.getOperationId()).register(registry);
+            Gauge.builder("extension.concurrency.in-flight", limiter, AimdLimiter::getInFlight)
+                    .tag("operation", operation.getOperationId()).register(registry);
+            guards.put(operation, new Guard(limiter, rejection, rejections));
+        }
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Guard guard = guards.get(operation);
+        if (!guard.limiter.tryAcquire()) {
+            guard.rejections.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            ApiUtil.writeResponse(response, MediaType.APPLICATION_JSON_VALUE, guard.rejection);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            filterChain.doFilter(request, response);
+            failed = isOverloaded(response.getStatus());
+        } catch (ServletException | IOException | RuntimeException e) {
+            failed = isTimeout(e);
+            throw e;
+        } finally {
+            guard.limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    private static boolean isOverloaded(int status) {
+        return status == HttpServletResponse.SC_SERVICE_UNAVAILABLE || status == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeadlineExceededException || cause instanceof TimeoutException
+                    || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Guard {
+
+        final AimdLimiter limiter;
+        final byte[] rejection;
+        final Counter rejections;
+
+        Guard(AimdLimiter limiter, byte[] rejection, Counter rejections) {
+            this.limiter = limiter;
+            this.rejection = rejection;
+            this.rejections = rejections;
+        }
+
+    }
+
+}
@@ -0,0 +1,241 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.api.ApiUtil;
+import org.openapitools.api.BatchApi;
+import org.openapitools.api.Deadline;
+import org.openapitools.api.ExtensionOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Attaches a {@link Deadline} to extension calls when {@code openapi.extension.deadline.enabled=true}.
+ *
+ * <p>The budget is read in milliseconds from the header named by
+ * {@code openapi.extension.deadline.header}, falling back to
+ * {@code openapi.extension.deadline.operations.<operationId>.timeout} and then
+ * {@code openapi.extension.deadline.timeout}; calls without any budget run unbounded. A call whose
+ * budget is already spent is answered with a 504 without running the handler. With
+ * {@code openapi.extension.deadline.interrupt=true} the handling thread is also interrupted when
+ * the deadline passes, which aborts handlers blocked in interruptible calls. {@code /batch} calls
+ * are budgeted as operation {@code batchPost}, and their deadline bounds every entry.</p>
+ *
+ * <p>Abandoned calls are counted in {@code extension.deadline.abandoned}, tagged with the
+ * operation id and the {@code stage} at which the deadline was noticed: {@code entry},
+ * {@code handler} (cancelled while running) or {@code completed} (finished too late).</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 250)
+@ConditionalOnProperty(name = "openapi.extension.deadline.enabled", havingValue = "true")
+public class DeadlineFilter extends ExtensionOperationFilter {
+
+    private static final String PREFIX = "openapi.extension.deadline.";
+    private static final String BATCH_OPERATION_ID = "batchPost";
+
+    private final String header;
+    private final String batchPath;
+    private final Map<ExtensionOperation, Budget> budgets = new EnumMap<>(ExtensionOperation.class);
+    private final Budget batchBudget;
+    private final byte[] rejection;
+    private final ScheduledThreadPoolExecutor interrupter;
+
+    public DeadlineFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                          @Value("${" + PREFIX + "header:X-Request-Timeout}") String header,
+                          @Value("${" + PREFIX + "interrupt:false}") boolean interrupt,
+                          Environment environment, ObjectMapper objectMapper, MeterRegistry registry)
+            throws JsonProcessingException {
+        super(basePath);
+        this.header = header;
+        this.batchPath = basePath + BatchApi.PATH_BATCH_POST;
+        Duration defaultTimeout = environment.getProperty(PREFIX + "timeout", Duration.class);
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            budgets.put(operation, budget(environment, operation.getOperationId(), defaultTimeout, registry));
+        }
+        this.batchBudget = budget(environment, BATCH_OPERATION_ID, defaultTimeout, registry);
+        this.rejection = objectMapper.writeValueAsString(ApiUtil.errorResponse("deadline_exceeded",
+                "The caller is no longer waiting for this response")).getBytes(StandardCharsets.UTF_8);
+        if (interrupt) {
+            interrupter = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("extension-deadline-"));
+            interrupter.setRemoveOnCancelPolicy(true);
+        } else {
+            interrupter = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (interrupter != null) {
+            interrupter.shutdownNow();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return super.shouldNotFilter(request) && !isBatch(request);
+    }
+
+    /**
+     * {@code /batch} calls get a deadline too, which {@code ExtensionBatch} binds to its entries.
+     */
+    private boolean isBatch(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        return uri.length() == offset + batchPath.length() && uri.startsWith(batchPath, offset);
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Budget budget = operation != null ? budgets.get(operation) : batchBudget;
+        long timeoutMillis = timeoutMillis(request.getHeader(header), budget.timeoutMillis);
+        if (timeoutMillis < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Deadline deadline = Deadline.after(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (deadline.isExpired()) {
+            budget.abandonedOnEntry.increment();
+            response.setStatus(HttpServletResponse.SC_GATEWAY_TIMEOUT);
+            ApiUtil.writeResponse(response, MediaType.APPLICATION_JSON_VALUE, rejection);
+            return;
+        }
+
+        Deadline previous = Deadline.attach(deadline);
+        Interruption interruption = scheduleInterrupt(deadline, Thread.currentThread());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (interruption != null) {
+                interruption.finish();
+            }
+            Deadline.attach(previous);
+            if (deadline.isCancelled()) {
+                budget.abandonedInHandler.increment();
+            } else if (deadline.isExpired()) {
+                budget.completedLate.increment();
+            }
+        }
+    }
+
+    private Interruption scheduleInterrupt(Deadline deadline, Thread thread) {
+        if (interrupter == null) {
+            return null;
+        }
+        Interruption interruption = new Interruption(deadline, thread);
+        interruption.future = interrupter.schedule(interruption, deadline.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        return interruption;
+    }
+
+    private static Budget budget(Environment environment, String operationId, Duration defaultTimeout,
+                                 MeterRegistry registry) {
+        Duration timeout = environment.getProperty(
+                PREFIX + "operations." + operationId + ".timeout", Duration.class, defaultTimeout);
+        return new Budget(timeout == null ? -1 : timeout.toMillis(), registry, operationId);
+    }
+
+    private static long timeoutMillis(String value, long defaultMillis) {
+        if (value == null || value.isEmpty()) {
+            return defaultMillis;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return defaultMillis;
+        }
+    }
+
+    /**
+     * Interrupt of a handling thread at its deadline. The thread and the interrupter race to move
+     * the state out of {@code ACTIVE}: the interrupter only interrupts while the call is still
+     * running, and a thread that lost the race waits for the interrupt to land and clears it, so
+     * it never carries over to the next request served by the thread.
+     */
+    private static final class Interruption implements Runnable {
+
+        private static final int ACTIVE = 0;
+        private static final int INTERRUPTING = 1;
+        private static final int INTERRUPTED = 2;
+        private static final int DONE = 3;
+
+        private final Deadline deadline;
+        private final Thread thread;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+        private volatile ScheduledFuture<?> future;
+
+        Interruption(Deadline deadline, Thread thread) {
+            this.deadline = deadline;
+            this.thread = thread;
+        }
+
+        @Override
+        public void run() {
+            if (state.compareAndSet(ACTIVE, INTERRUPTING)) {
+                deadline.cancel();
+                thread.interrupt();
+                state.set(INTERRUPTED);
+            }
+        }
+
+        /**
+         * Called by the handling thread once the call is over.
+         */
+        void finish() {
+            if (state.compareAndSet(ACTIVE, DONE)) {
+                future.cancel(false);
+                return;
+            }
+            while (state.get() == INTERRUPTING) {
+                Thread.yield();
+            }
+            Thread.interrupted();
+        }
+
+    }
+
+    private static final class Budget {
+
+        final long timeoutMillis;
+        final Counter abandonedOnEntry;
+        final Counter abandonedInHandler;
+        final Counter completedLate;
+
+        Budget(long timeoutMillis, MeterRegistry registry, String operationId) {
+            this.timeoutMillis = timeoutMillis;
+            this.abandonedOnEntry = counter(registry, operationId, "entry");
+            this.abandonedInHandler = counter(registry, operationId, "handler");
+            this.completedLate = counter(registry, operationId, "completed");
+        }
+
+        private static Counter counter(MeterRegistry registry, String operationId, String stage) {
+            return Counter.builder("extension.deadline.abandoned")
+                    .tag("operation", operationId).tag("stage", stage).register(registry);
+        }
+
+    }
+
+}
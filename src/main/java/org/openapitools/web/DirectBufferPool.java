@@ -0,0 +1,93 @@
+package org.openapitools.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct {@link ByteBuffer}s in four size classes (2, 8, 32 and 128 KB), used to
+ * serialize response bodies off-heap.
+ *
+ * <p>Each class keeps at most {@code maxPooledPerClass} idle buffers. When a class has none
+ * left a new buffer is allocated and counted in {@code extension.direct-buffers.misses};
+ * idle and in-use buffers are published as {@code extension.direct-buffers.pooled} and
+ * {@code extension.direct-buffers.in-use}, all tagged with the class {@code size}.</p>
+ */
+public class DirectBufferPool {
+
+    private static final int[] SIZES = {2 * 1024, 8 * 1024, 32 * 1024, 128 * 1024};
+
+    private final SizeClass[] classes = new SizeClass[SIZES.length];
+
+    public DirectBufferPool(int maxPooledPerClass, MeterRegistry registry) {
+        for (int i = 0; i < SIZES.length; i++) {
+            classes[i] = new SizeClass(SIZES[i], maxPooledPerClass, registry);
+        }
+    }
+
+    /**
+     * Returns a cleared buffer of the smallest class holding {@code minCapacity} bytes, or of the
+     * largest class if none does.
+     */
+    public ByteBuffer acquire(int minCapacity) {
+        return classes[classIndex(minCapacity)].acquire();
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #acquire(int)} to the pool.
+     */
+    public void release(ByteBuffer buffer) {
+        int index = classIndex(buffer.capacity());
+        if (classes[index].size == buffer.capacity()) {
+            classes[index].release(buffer);
+        }
+    }
+
+    private static int classIndex(int capacity) {
+        for (int i = 0; i < SIZES.length - 1; i++) {
+            if (capacity <= SIZES[i]) {
+                return i;
+            }
+        }
+        return SIZES.length - 1;
+    }
+
+    private static final class SizeClass {
+
+        final int size;
+        final ArrayBlockingQueue<ByteBuffer> idle;
+        final AtomicInteger inUse = new AtomicInteger();
+        final Counter misses;
+
+        SizeClass(int size, int maxPooled, MeterRegistry registry) {
+            this.size = size;
+            this.idle = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+            String tag = Integer.toString(size);
+            this.misses = Counter.builder("extension.direct-buffers.misses").tag("size", tag).register(registry);
+            Gauge.builder("extension.direct-buffers.pooled", idle, ArrayBlockingQueue::size).tag("size", tag).register(registry);
+            Gauge.builder("extension.direct-buffers.in-use", inUse, AtomicInteger::get).tag("size", tag).register(registry);
+        }
+
+        ByteBuffer acquire() {
+            inUse.incrementAndGet();
+            ByteBuffer buffer = idle.poll();
+            if (buffer == null) {
+                misses.increment();
+                return ByteBuffer.allocateDirect(size);
+            }
+            buffer.clear();
+            return buffer;
+        }
+
+        void release(ByteBuffer buffer) {
+            inUse.decrementAndGet();
+            idle.offer(buffer);
+        }
+
+    }
+
+}
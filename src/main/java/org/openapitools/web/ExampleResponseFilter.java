@@ -0,0 +1,72 @@
+package org.openapitools.web;
+
+import org.openapitools.api.ApiUtil;
+import org.openapitools.api.ExampleResponses;
+import org.openapitools.api.ExtensionOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Serves the pre-encoded {@link ExampleResponses} for the operations listed in
+ * {@code openapi.extension.examples.operations} (operation ids, or {@code *} for all of them)
+ * instead of dispatching to the generated default handlers.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 100)
+@ConditionalOnProperty(name = "openapi.extension.examples.operations")
+public class ExampleResponseFilter extends ExtensionOperationFilter {
+
+    private final ExampleResponses examples;
+    private final Set<ExtensionOperation> operations;
+
+    public ExampleResponseFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                                 @Value("${openapi.extension.examples.operations}") String[] operationIds,
+                                 ExampleResponses examples) {
+        super(basePath);
+        this.examples = examples;
+        this.operations = EnumSet.noneOf(ExtensionOperation.class);
+        for (String operationId : operationIds) {
+            String id = operationId.trim();
+            if ("*".equals(id)) {
+                operations.addAll(EnumSet.allOf(ExtensionOperation.class));
+            } else if (!id.isEmpty()) {
+                ExtensionOperation operation = ExtensionOperation.fromOperationId(id);
+                if (operation == null) {
+                    throw new IllegalArgumentException("Unknown extension operation: " + id);
+                }
+                operations.add(operation);
+            }
+        }
+    }
+
+    @Override
+    protected boolean appliesTo(ExtensionOperation operation) {
+        return operations.contains(operation);
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ExampleResponses.Example example = examples.select(operation, request.getHeader(HttpHeaders.ACCEPT));
+        if (example == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        ApiUtil.writeResponse(response, example.getContentType(), example.getBody());
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.openapitools.web;
+
+import org.openapitools.api.ExtensionOperation;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Base class for servlet filters that only apply to the extension-point operations under the
+ * accelerator base path. The operation is resolved once per request and shared between filters
+ * through a request attribute.
+ */
+public abstract class ExtensionOperationFilter extends OncePerRequestFilter {
+
+    public static final String BASE_PATH_PROPERTY =
+            "${openapi.aPIContractForFinancialAcceleratorExtensionPointsInWSO2ISAndAPIM.base-path:/wso2-f5b/OB4/1.0.0}";
+
+    private static final String OPERATION_ATTRIBUTE = ExtensionOperationFilter.class.getName() + ".operation";
+
+    private final String basePath;
+
+    protected ExtensionOperationFilter(String basePath) {
+        this.basePath = basePath;
+    }
+
+    /**
+     * Returns the operation targeted by the request, or {@code null} if it is not an extension call.
+     */
+    public static ExtensionOperation operation(HttpServletRequest request) {
+        return (ExtensionOperation) request.getAttribute(OPERATION_ATTRIBUTE);
+    }
+
+    private ExtensionOperation resolve(HttpServletRequest request) {
+        ExtensionOperation operation = operation(request);
+        if (operation == null) {
+            operation = ExtensionOperation.resolve(request, basePath);
+            if (operation != null) {
+                request.setAttribute(OPERATION_ATTRIBUTE, operation);
+            }
+        }
+        return operation;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        ExtensionOperation operation = resolve(request);
+        return operation == null || !appliesTo(operation);
+    }
+
+    @Override
+    protected final void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                          FilterChain filterChain) throws ServletException, IOException {
+        doFilterOperation(operation(request), request, response, filterChain);
+    }
+
+    /**
+     * Whether this filter takes part in calls to the given operation.
+     */
+    protected boolean appliesTo(ExtensionOperation operation) {
+        return true;
+    }
+
+    protected abstract void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                              HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException;
+
+}
@@ -0,0 +1,135 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openapitools.api.ContractValidator;
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.ExtensionRoutes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dispatches extension calls straight to their {@code *Api} handler through the precomputed
+ * {@link ExtensionRoutes} table when {@code openapi.extension.router.enabled=true}, bypassing
+ * handler mapping and argument resolution in the {@code DispatcherServlet}.
+ *
+ * <p>Requests the router does not fully understand (non-POST methods, non-JSON content types
+ * or {@code Accept} headers) fall through to the regular Spring MVC mappings, which produce
+ * the usual 405/406/415 responses. Validation of the request body, compiled or bean validation
+ * depending on {@code openapi.extension.validation.mode}, is kept unless
+ * {@code openapi.extension.router.validate=false}. Either way, a {@link ValidationException}
+ * raised by the handler itself is answered with 400 like an invalid body.</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 50)
+@ConditionalOnProperty(name = "openapi.extension.router.enabled", havingValue = "true")
+public class ExtensionRouterFilter extends ExtensionOperationFilter {
+
+    private final ExtensionRoutes routes;
+    private final ObjectWriter writer;
+    private final Validator validator;
+    private final ContractValidator contractValidator;
+    private final DirectBufferPool bufferPool;
+
+    public ExtensionRouterFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                                 @Value("${openapi.extension.router.validate:true}") boolean validate,
+                                 ExtensionRoutes routes, ObjectMapper objectMapper,
+                                 ObjectProvider<Validator> validator, ObjectProvider<ContractValidator> contractValidator,
+                                 ObjectProvider<DirectBufferPool> bufferPool) {
+        super(basePath);
+        this.bufferPool = bufferPool.getIfAvailable();
+        this.routes = routes;
+        this.writer = objectMapper.writer();
+        this.validator = validate ? validator.getIfAvailable() : null;
+        this.contractValidator = validate ? contractValidator.getIfAvailable() : null;
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!"POST".equals(request.getMethod()) || !JsonBodies.isJson(request.getContentType())
+                || !acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ExtensionRoutes.Route<?> route = routes.route(operation);
+        Object body;
+        try {
+            body = route.readBody(request.getInputStream());
+        } catch (JsonProcessingException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getOriginalMessage());
+            return;
+        }
+        if (body == null || !isValid(operation, body, request)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        ResponseEntity<?> entity;
+        try {
+            entity = route.handle(body);
+        } catch (ValidationException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        write(entity, response);
+    }
+
+    private boolean isValid(ExtensionOperation operation, Object body, HttpServletRequest request) {
+        if (contractValidator != null) {
+            return contractValidator.validate(operation, body, request).isEmpty();
+        }
+        return validator == null || validator.validate(body).isEmpty();
+    }
+
+    private void write(ResponseEntity<?> entity, HttpServletResponse response) throws IOException {
+        response.setStatus(entity.getStatusCodeValue());
+        for (Map.Entry<String, List<String>> header : entity.getHeaders().entrySet()) {
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+        Object body = entity.getBody();
+        if (body != null) {
+            if (response.getContentType() == null) {
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            }
+            if (bufferPool == null) {
+                writer.writeValue(response.getOutputStream(), body);
+                return;
+            }
+            PooledBufferOutputStream buffer = new PooledBufferOutputStream(bufferPool);
+            try {
+                writer.writeValue(buffer, body);
+                response.setContentLengthLong(buffer.size());
+                buffer.writeTo(response.getOutputStream());
+            } finally {
+                buffer.release();
+            }
+        }
+    }
+
+    private static boolean acceptsJson(String accept) {
+        return accept == null || accept.contains(MediaType.APPLICATION_JSON_VALUE) || accept.contains("*/*")
+                || accept.contains("application/*");
+    }
+
+}
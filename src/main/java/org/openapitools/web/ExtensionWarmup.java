@@ -0,0 +1,206 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.OpenApiSpec;
+import org.openapitools.api.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the request examples of {@code openapi.yaml} against every extension operation before
+ * the application reports itself ready, when {@code openapi.extension.warmup.enabled=true}.
+ *
+ * <p>The calls go through the embedded server over loopback, so the whole stack (filters,
+ * handler mapping, Jackson readers and writers, the handlers themselves) is exercised and
+ * compiled. Each operation is called until the mean latency of two consecutive windows of
+ * {@value #WINDOW} calls differs by less than {@code openapi.extension.warmup.tolerance}, or
+ * {@code openapi.extension.warmup.iterations} calls have been made. The whole phase is capped at
+ * {@code openapi.extension.warmup.duration}. Application runners complete before Spring Boot
+ * publishes the {@code ACCEPTING_TRAFFIC} readiness state, so readiness follows the warm-up.</p>
+ *
+ * <p>Replays are mostly answered by the example stubs, which write their body directly, so the
+ * writers of every response model the contract declares, {@code oneOf} unions and their
+ * branches included, are resolved up front as well. Replays are marked as {@link Warmup} calls
+ * and leave the consent state, decision and idempotency caches and access counts untouched.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "openapi.extension.warmup.enabled", havingValue = "true")
+public class ExtensionWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtensionWarmup.class);
+
+    private static final int WINDOW = 100;
+    private static final String MODEL_PACKAGE = "org.openapitools.model.";
+
+    private final WebServerApplicationContext context;
+    private final OpenApiSpec spec;
+    private final ObjectMapper objectMapper;
+    private final String basePath;
+    private final int iterations;
+    private final Duration duration;
+    private final double tolerance;
+
+    public ExtensionWarmup(WebServerApplicationContext context, OpenApiSpec spec, ObjectMapper objectMapper,
+                           @Value("${server.servlet.context-path:}") String contextPath,
+                           @Value(ExtensionOperationFilter.BASE_PATH_PROPERTY) String basePath,
+                           @Value("${openapi.extension.warmup.iterations:2000}") int iterations,
+                           @Value("${openapi.extension.warmup.duration:30s}") Duration duration,
+                           @Value("${openapi.extension.warmup.tolerance:0.1}") double tolerance) {
+        this.context = context;
+        this.spec = spec;
+        this.objectMapper = objectMapper;
+        this.basePath = contextPath + basePath;
+        this.iterations = iterations;
+        this.duration = duration;
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        int serializers = resolveResponseWriters();
+        String root = "http://localhost:" + context.getWebServer().getPort() + basePath;
+        String token = Warmup.begin();
+        int total = 0;
+        try {
+            for (ExtensionOperation operation : ExtensionOperation.values()) {
+                List<JsonNode> examples = spec.requestExamples(operation);
+                if (examples.isEmpty()) {
+                    log.debug("No request example for {}, skipping warm-up", operation.getOperationId());
+                    continue;
+                }
+                if (System.nanoTime() - end >= 0) {
+                    log.warn("Warm-up duration of {} exhausted before {}", duration, operation.getOperationId());
+                    break;
+                }
+                total += warmUp(operation, new URL(root + operation.getPath()), examples, token, end);
+            }
+        } finally {
+            Warmup.end();
+        }
+        log.info("Warm-up finished: {} response writers, {} calls in {} ms", serializers, total,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Resolves the writer of every model a response of the contract may carry, so that the
+     * first real call of each operation does not build its serializers.
+     */
+    private int resolveResponseWriters() {
+        Set<String> models = new LinkedHashSet<>();
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            for (JsonNode response : spec.operation(operation).path("responses")) {
+                JsonNode schema = response.path("content").path(MediaType.APPLICATION_JSON_VALUE).path("schema");
+                addModel(models, schema);
+                JsonNode resolved = spec.resolve(schema);
+                if (resolved.has("x-one-of-name")) {
+                    models.add(resolved.get("x-one-of-name").asText());
+                }
+                for (JsonNode branch : resolved.path("oneOf")) {
+                    addModel(models, branch);
+                }
+            }
+        }
+        int resolved = 0;
+        for (String model : models) {
+            try {
+                // writerFor fetches and caches the root serializer eagerly
+                objectMapper.writerFor(Class.forName(MODEL_PACKAGE + model));
+                resolved++;
+            } catch (ClassNotFoundException e) {
+                log.debug("No model class for response schema {}", model);
+            }
+        }
+        return resolved;
+    }
+
+    private static void addModel(Set<String> models, JsonNode schema) {
+        if (schema.has("$ref")) {
+            models.add(OpenApiSpec.schemaName(schema.get("$ref").asText()));
+        }
+    }
+
+    private int warmUp(ExtensionOperation operation, URL url, List<JsonNode> examples, String token, long end)
+            throws IOException {
+        double previousMean = -1;
+        long windowNanos = 0;
+        int calls = 0;
+        while (calls < iterations && System.nanoTime() - end < 0) {
+            byte[] body = body(examples.get(calls % examples.size()), calls);
+            long started = System.nanoTime();
+            call(url, body, token);
+            windowNanos += System.nanoTime() - started;
+            calls++;
+            if (calls % WINDOW == 0) {
+                double mean = (double) windowNanos / WINDOW;
+                if (previousMean > 0 && Math.abs(mean - previousMean) <= tolerance * previousMean) {
+                    log.info("Warmed up {} after {} calls, {} us per call", operation.getOperationId(), calls,
+                            (long) mean / 1000);
+                    return calls;
+                }
+                previousMean = mean;
+                windowNanos = 0;
+            }
+        }
+        log.info("Warm-up of {} stopped after {} calls without settling", operation.getOperationId(), calls);
+        return calls;
+    }
+
+    /**
+     * Gives every call its own {@code requestId}, like distinct calls from the accelerator.
+     */
+    private byte[] body(JsonNode example, int call) throws IOException {
+        if (example.has("requestId") && example.isObject()) {
+            ObjectNode copy = ((ObjectNode) example).deepCopy();
+            copy.put("requestId", "warmup-" + call);
+            example = copy;
+        }
+        return objectMapper.writeValueAsBytes(example);
+    }
+
+    private static void call(URL url, byte[] body, String token) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(body.length);
+        connection.setRequestProperty(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        connection.setRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        connection.setRequestProperty(Warmup.HEADER, token);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        InputStream in = connection.getResponseCode() < HttpURLConnection.HTTP_BAD_REQUEST
+                ? connection.getInputStream() : connection.getErrorStream();
+        if (in != null) {
+            // Draining the body lets the connection be reused for the next call.
+            try (InputStream response = in) {
+                StreamUtils.drain(response);
+            }
+        }
+    }
+
+}
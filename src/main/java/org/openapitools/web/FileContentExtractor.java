@@ -0,0 +1,469 @@
+package org.openapitools.web;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Single-pass scanner that copies a JSON request body while moving one string value, addressed
+ * by a path of object keys, out to a spool file.
+ *
+ * <p>The value is unescaped, hashed and written in buffer-sized chunks, so its size does not
+ * affect the heap; the rest of the body, up to {@code maxBodySize} bytes, is kept in memory with
+ * the value replaced by an empty string. The scanner only checks the structure it needs to find the value, leaving full
+ * validation of the remaining document to Jackson.</p>
+ */
+final class FileContentExtractor {
+
+    private static final int MAX_DEPTH = 128;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final InputStream in;
+    private final byte[][] targetPath;
+    private final Path spoolDirectory;
+    private final long maxSize;
+    private final int maxBodySize;
+
+    private final byte[] buffer = new byte[8192];
+    private int position;
+    private int limit;
+
+    private byte[] body = new byte[4096];
+    private int bodyLength;
+
+    private final byte[] key = new byte[64];
+    private int keyLength;
+    private boolean keyEscaped;
+
+    private Path spoolFile;
+    private long spoolSize;
+    private String spoolDigest;
+
+    FileContentExtractor(InputStream in, String[] targetPath, Path spoolDirectory, long maxSize, int maxBodySize) {
+        this.in = in;
+        this.targetPath = new byte[targetPath.length][];
+        for (int i = 0; i < targetPath.length; i++) {
+            this.targetPath[i] = targetPath[i].getBytes(StandardCharsets.UTF_8);
+        }
+        this.spoolDirectory = spoolDirectory;
+        this.maxSize = maxSize;
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Reads the whole input and returns the body without the extracted value. On failure any
+     * spool file that was started is deleted.
+     */
+    byte[] extract() throws IOException {
+        try {
+            value(0, 0);
+            if (peekNonWhitespace() != -1) {
+                throw new MalformedBodyException("Unexpected content after the JSON document");
+            }
+            return Arrays.copyOf(body, bodyLength);
+        } catch (IOException | RuntimeException e) {
+            deleteSpoolFile();
+            throw e;
+        }
+    }
+
+    /**
+     * The spooled value, or {@code null} if the body did not contain it.
+     */
+    Path getSpoolFile() {
+        return spoolFile;
+    }
+
+    long getSpoolSize() {
+        return spoolSize;
+    }
+
+    String getSpoolDigest() {
+        return spoolDigest;
+    }
+
+    void deleteSpoolFile() throws IOException {
+        if (spoolFile != null) {
+            Files.deleteIfExists(spoolFile);
+        }
+    }
+
+    /**
+     * @param matched number of leading target path segments matched by the current location,
+     *                or -1 once the location has left the target path
+     */
+    private void value(int depth, int matched) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new MalformedBodyException("JSON nesting too deep");
+        }
+        int c = peekNonWhitespace();
+        switch (c) {
+            case '{':
+                object(depth + 1, matched);
+                break;
+            case '[':
+                array(depth + 1);
+                break;
+            case '"':
+                if (matched == targetPath.length) {
+                    spoolString();
+                } else {
+                    copyString(false);
+                }
+                break;
+            case -1:
+                throw new MalformedBodyException("Unexpected end of the JSON document");
+            default:
+                literal();
+                break;
+        }
+    }
+
+    private void object(int depth, int matched) throws IOException {
+        emit(read());
+        if (peekNonWhitespace() == '}') {
+            emit(read());
+            return;
+        }
+        while (true) {
+            if (peekNonWhitespace() != '"') {
+                throw new MalformedBodyException("Expected an object key");
+            }
+            copyString(true);
+            expect(':');
+            int childMatched = -1;
+            if (matched >= 0 && matched < targetPath.length && isKey(targetPath[matched])) {
+                childMatched = matched + 1;
+            }
+            value(depth, childMatched);
+            int c = peekNonWhitespace();
+            if (c == ',') {
+                emit(read());
+            } else if (c == '}') {
+                emit(read());
+                return;
+            } else {
+                throw new MalformedBodyException("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private boolean isKey(byte[] expected) {
+        if (keyEscaped || keyLength != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < keyLength; i++) {
+            if (key[i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void array(int depth) throws IOException {
+        emit(read());
+        if (peekNonWhitespace() == ']') {
+            emit(read());
+            return;
+        }
+        while (true) {
+            value(depth, -1);
+            int c = peekNonWhitespace();
+            if (c == ',') {
+                emit(read());
+            } else if (c == ']') {
+                emit(read());
+                return;
+            } else {
+                throw new MalformedBodyException("Expected ',' or ']'");
+            }
+        }
+    }
+
+    private void expect(int expected) throws IOException {
+        if (peekNonWhitespace() != expected) {
+            throw new MalformedBodyException("Expected '" + (char) expected + "'");
+        }
+        emit(read());
+    }
+
+    private void literal() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == -1 || c == ',' || c == '}' || c == ']' || isWhitespace(c)) {
+                return;
+            }
+            emit(read());
+        }
+    }
+
+    /**
+     * Copies a string token including its quotes, remembering it as the current key if asked to.
+     */
+    private void copyString(boolean isKey) throws IOException {
+        emit(read());
+        keyLength = 0;
+        keyEscaped = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new MalformedBodyException("Unterminated string");
+            }
+            int start = position;
+            while (position < limit && buffer[position] != '"' && buffer[position] != '\\') {
+                position++;
+            }
+            emit(buffer, start, position - start);
+            if (isKey) {
+                int n = position - start;
+                if (keyLength + n > key.length) {
+                    keyEscaped = true;
+                } else {
+                    System.arraycopy(buffer, start, key, keyLength, n);
+                    keyLength += n;
+                }
+            }
+            if (position == limit) {
+                continue;
+            }
+            int c = read();
+            emit(c);
+            if (c == '"') {
+                return;
+            }
+            int escaped = read();
+            if (escaped == -1) {
+                throw new MalformedBodyException("Unterminated string");
+            }
+            emit(escaped);
+            if (isKey) {
+                // Escaped keys never match the target path.
+                keyEscaped = true;
+            }
+        }
+    }
+
+    private void spoolString() throws IOException {
+        if (spoolFile != null) {
+            throw new MalformedBodyException("Duplicate file content");
+        }
+        read();
+        emit('"');
+        emit('"');
+        MessageDigest digest = sha256();
+        spoolFile = Files.createTempFile(spoolDirectory, "file-upload-", ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(spoolFile), buffer.length)) {
+            while (true) {
+                if (position == limit && !fill()) {
+                    throw new MalformedBodyException("Unterminated string");
+                }
+                int start = position;
+                while (position < limit) {
+                    byte b = buffer[position];
+                    if (b == '"' || b == '\\') {
+                        break;
+                    }
+                    if ((b & 0xff) < 0x20) {
+                        throw new MalformedBodyException("Unescaped control character in file content");
+                    }
+                    position++;
+                }
+                write(out, digest, buffer, start, position - start);
+                if (position == limit) {
+                    continue;
+                }
+                if (read() == '"') {
+                    break;
+                }
+                unescape(out, digest);
+            }
+        }
+        spoolDigest = hex(digest.digest());
+    }
+
+    private void unescape(OutputStream out, MessageDigest digest) throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                write(out, digest, (byte) c);
+                break;
+            case 'b':
+                write(out, digest, (byte) '\b');
+                break;
+            case 'f':
+                write(out, digest, (byte) '\f');
+                break;
+            case 'n':
+                write(out, digest, (byte) '\n');
+                break;
+            case 'r':
+                write(out, digest, (byte) '\r');
+                break;
+            case 't':
+                write(out, digest, (byte) '\t');
+                break;
+            case 'u':
+                int codePoint = hexQuad();
+                if (Character.isLowSurrogate((char) codePoint)) {
+                    throw new MalformedBodyException("Unpaired surrogate in file content");
+                }
+                if (Character.isHighSurrogate((char) codePoint)) {
+                    if (read() != '\\' || read() != 'u') {
+                        throw new MalformedBodyException("Unpaired surrogate in file content");
+                    }
+                    int low = hexQuad();
+                    if (!Character.isLowSurrogate((char) low)) {
+                        throw new MalformedBodyException("Unpaired surrogate in file content");
+                    }
+                    codePoint = Character.toCodePoint((char) codePoint, (char) low);
+                }
+                byte[] utf8 = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+                write(out, digest, utf8, 0, utf8.length);
+                break;
+            default:
+                throw new MalformedBodyException("Invalid escape in file content");
+        }
+    }
+
+    private int hexQuad() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw new MalformedBodyException("Invalid unicode escape in file content");
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    private void write(OutputStream out, MessageDigest digest, byte b) throws IOException {
+        checkSize(1);
+        digest.update(b);
+        out.write(b);
+    }
+
+    private void write(OutputStream out, MessageDigest digest, byte[] bytes, int offset, int length) throws IOException {
+        if (length > 0) {
+            checkSize(length);
+            digest.update(bytes, offset, length);
+            out.write(bytes, offset, length);
+        }
+    }
+
+    private void checkSize(int length) throws FileContentTooLargeException {
+        spoolSize += length;
+        if (spoolSize > maxSize) {
+            throw new FileContentTooLargeException(maxSize);
+        }
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        int c = peek();
+        while (isWhitespace(c)) {
+            position++;
+            c = peek();
+        }
+        return c;
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position] & 0xff;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        if (c != -1) {
+            position++;
+        }
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    private void emit(int b) throws BodyTooLargeException {
+        if (bodyLength == maxBodySize) {
+            throw new BodyTooLargeException(maxBodySize);
+        }
+        if (bodyLength == body.length) {
+            body = Arrays.copyOf(body, (int) Math.min(body.length * 2L, maxBodySize));
+        }
+        body[bodyLength++] = (byte) b;
+    }
+
+    private void emit(byte[] bytes, int offset, int length) throws BodyTooLargeException {
+        if (length > maxBodySize - bodyLength) {
+            throw new BodyTooLargeException(maxBodySize);
+        }
+        if (bodyLength + length > body.length) {
+            body = Arrays.copyOf(body, Math.min(Math.max(body.length * 2, bodyLength + length), maxBodySize));
+        }
+        System.arraycopy(bytes, offset, body, bodyLength, length);
+        bodyLength += length;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        byte[] chars = new byte[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xf];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(chars, StandardCharsets.US_ASCII);
+    }
+
+    static class MalformedBodyException extends IOException {
+
+        MalformedBodyException(String message) {
+            super(message);
+        }
+
+    }
+
+    static class FileContentTooLargeException extends IOException {
+
+        FileContentTooLargeException(long maxSize) {
+            super("File content exceeds " + maxSize + " bytes");
+        }
+
+    }
+
+    static class BodyTooLargeException extends IOException {
+
+        BodyTooLargeException(int maxBodySize) {
+            super("Request body without the file content exceeds " + maxBodySize + " bytes");
+        }
+
+    }
+
+}
@@ -0,0 +1,98 @@
+package org.openapitools.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.UploadedFileContent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Streams {@code data.fileContent} of {@code /pre-process-consent-file-upload} calls to a spool
+ * file instead of binding it as a string, when {@code openapi.extension.file-upload.streaming=true}.
+ *
+ * <p>The content is unescaped, hashed with SHA-256 and written to
+ * {@code openapi.extension.file-upload.spool-directory} in 8 KB chunks, so the heap used per
+ * upload does not grow with the file. Handlers see an empty {@code fileContent} and read the
+ * file through {@link UploadedFileContent#current()}. Content larger than
+ * {@code openapi.extension.file-upload.max-size}, or whose remaining body is larger than
+ * {@code openapi.extension.file-upload.max-body-size}, is rejected with 413, malformed bodies
+ * with 400.
+ * Sizes are recorded in {@code extension.file-upload.size}.</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 275)
+@ConditionalOnProperty(name = "openapi.extension.file-upload.streaming", havingValue = "true")
+public class FileUploadStreamingFilter extends ExtensionOperationFilter {
+
+    private static final String[] FILE_CONTENT_PATH = {"data", "fileContent"};
+
+    private final Path spoolDirectory;
+    private final long maxSize;
+    private final int maxBodySize;
+    private final DistributionSummary sizes;
+
+    public FileUploadStreamingFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                                     @Value("${openapi.extension.file-upload.spool-directory:${java.io.tmpdir}}") String spoolDirectory,
+                                     @Value("${openapi.extension.file-upload.max-size:100MB}") DataSize maxSize,
+                                     @Value("${openapi.extension.file-upload.max-body-size:1MB}") DataSize maxBodySize,
+                                     MeterRegistry registry) throws IOException {
+        super(basePath);
+        this.spoolDirectory = Files.createDirectories(Paths.get(spoolDirectory));
+        this.maxSize = maxSize.toBytes();
+        this.maxBodySize = (int) Math.min(maxBodySize.toBytes(), Integer.MAX_VALUE - 8);
+        this.sizes = DistributionSummary.builder("extension.file-upload.size").baseUnit("bytes").register(registry);
+    }
+
+    @Override
+    protected boolean appliesTo(ExtensionOperation operation) {
+        return operation == ExtensionOperation.PRE_PROCESS_CONSENT_FILE_UPLOAD;
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!"POST".equals(request.getMethod()) || !JsonBodies.isJson(request.getContentType())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        FileContentExtractor extractor = new FileContentExtractor(request.getInputStream(), FILE_CONTENT_PATH,
+                spoolDirectory, maxSize, maxBodySize);
+        byte[] body;
+        try {
+            body = extractor.extract();
+        } catch (FileContentExtractor.FileContentTooLargeException | FileContentExtractor.BodyTooLargeException e) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, e.getMessage());
+            return;
+        } catch (FileContentExtractor.MalformedBodyException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        try {
+            if (extractor.getSpoolFile() != null) {
+                sizes.record(extractor.getSpoolSize());
+                request.setAttribute(UploadedFileContent.ATTRIBUTE, new UploadedFileContent(extractor.getSpoolFile(),
+                        extractor.getSpoolSize(), extractor.getSpoolDigest()));
+            }
+            filterChain.doFilter(new CachedBodyHttpServletRequest(request, body), response);
+        } finally {
+            request.removeAttribute(UploadedFileContent.ATTRIBUTE);
+            extractor.deleteSpoolFile();
+        }
+    }
+
+}
@@ -0,0 +1,315 @@
+package org.openapitools.web;
+
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Request wrapper that inflates a {@code Content-Encoding: gzip} body while it is read, with an
+ * {@link Inflater} from a {@link ZlibPool}. The chain sees an unencoded body of unknown length.
+ *
+ * <p>Reading fails with an {@link IOException} when the body is not valid gzip or inflates to
+ * more than {@code maxSize} bytes, in the latter case an {@link InflatedSizeExceededException};
+ * {@link #getFailure()} tells these apart from I/O errors of the connection.
+ * {@link #release()} returns the inflater to the pool.</p>
+ */
+public class GzipHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final ZlibPool pool;
+    private final long maxSize;
+    private InflatingInputStream inputStream;
+    private BufferedReader reader;
+    private IOException failure;
+
+    public GzipHttpServletRequest(HttpServletRequest request, ZlibPool pool, long maxSize) {
+        super(request);
+        this.pool = pool;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Whether a {@code Content-Encoding} header value denotes gzip.
+     */
+    public static boolean isGzip(String contentEncoding) {
+        return contentEncoding != null
+                && ("gzip".equalsIgnoreCase(contentEncoding.trim()) || "x-gzip".equalsIgnoreCase(contentEncoding.trim()));
+    }
+
+    /**
+     * The error reading the body failed with because it was not valid gzip or too large, if any.
+     */
+    public IOException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Number of bytes inflated so far.
+     */
+    public long getInflatedSize() {
+        return inputStream != null ? inputStream.total : 0;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new InflatingInputStream(super.getInputStream());
+        }
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+        return reader;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return isRemoved(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return isRemoved(name) ? Collections.<String>emptyEnumeration() : super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        List<String> names = Collections.list(super.getHeaderNames());
+        names.removeIf(GzipHttpServletRequest::isRemoved);
+        return Collections.enumeration(names);
+    }
+
+    private static boolean isRemoved(String name) {
+        return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+    }
+
+    /**
+     * Returns the inflater to the pool; the body must not be read afterwards.
+     */
+    public void release() {
+        if (inputStream != null) {
+            inputStream.release();
+        }
+    }
+
+    private final class InflatingInputStream extends ServletInputStream {
+
+        private static final int FHCRC = 2;
+        private static final int FEXTRA = 4;
+        private static final int FNAME = 8;
+        private static final int FCOMMENT = 16;
+
+        private final ServletInputStream source;
+        private final byte[] buffer = new byte[8192];
+        private final CRC32 crc = new CRC32();
+        private int position;
+        private int limit;
+        private Inflater inflater;
+        private boolean finished;
+        private long total;
+
+        InflatingInputStream(ServletInputStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * The body is inflated with blocking reads, so the listener is told right away that all
+         * of it is available.
+         */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int n;
+            do {
+                n = read(single, 0, 1);
+            } while (n == 0);
+            return n < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            if (inflater == null) {
+                readHeader();
+                inflater = pool.acquireInflater();
+            }
+            try {
+                while (true) {
+                    if (inflater.needsInput()) {
+                        if (position == limit && !fill()) {
+                            throw fail(new EOFException("Unexpected end of gzip request body"));
+                        }
+                        inflater.setInput(buffer, position, limit - position);
+                        position = limit;
+                    }
+                    int n = inflater.inflate(b, off, len);
+                    if (n > 0) {
+                        crc.update(b, off, n);
+                        total += n;
+                        if (total > maxSize) {
+                            throw fail(new InflatedSizeExceededException(maxSize));
+                        }
+                        return n;
+                    }
+                    if (inflater.finished()) {
+                        position = limit - inflater.getRemaining();
+                        readTrailer();
+                        finished = true;
+                        release();
+                        return -1;
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw fail(new ZipException("Invalid gzip request body"));
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw fail(new ZipException("Invalid gzip request body: " + e.getMessage()));
+            }
+        }
+
+        private void readHeader() throws IOException {
+            if (readUnsignedShort() != 0x8b1f || readUnsignedByte() != 8) {
+                throw fail(new ZipException("Request body is not in gzip format"));
+            }
+            int flags = readUnsignedByte();
+            skip(6);
+            if ((flags & FEXTRA) != 0) {
+                skip(readUnsignedShort());
+            }
+            if ((flags & FNAME) != 0) {
+                while (readUnsignedByte() != 0) {
+                    // file name
+                }
+            }
+            if ((flags & FCOMMENT) != 0) {
+                while (readUnsignedByte() != 0) {
+                    // comment
+                }
+            }
+            if ((flags & FHCRC) != 0) {
+                skip(2);
+            }
+        }
+
+        private void readTrailer() throws IOException {
+            long expectedCrc = readUnsignedInt();
+            long expectedSize = readUnsignedInt();
+            if (expectedCrc != crc.getValue() || expectedSize != (total & 0xffffffffL)) {
+                throw fail(new ZipException("Corrupt gzip request body"));
+            }
+        }
+
+        private long readUnsignedInt() throws IOException {
+            return readUnsignedShort() | ((long) readUnsignedShort() << 16);
+        }
+
+        private int readUnsignedShort() throws IOException {
+            return readUnsignedByte() | (readUnsignedByte() << 8);
+        }
+
+        private int readUnsignedByte() throws IOException {
+            if (position == limit && !fill()) {
+                throw fail(new EOFException("Unexpected end of gzip request body"));
+            }
+            return buffer[position++] & 0xff;
+        }
+
+        private void skip(int n) throws IOException {
+            for (int i = 0; i < n; i++) {
+                readUnsignedByte();
+            }
+        }
+
+        private boolean fill() throws IOException {
+            int n = source.read(buffer, 0, buffer.length);
+            if (n < 0) {
+                return false;
+            }
+            position = 0;
+            limit = n;
+            return true;
+        }
+
+        private IOException fail(IOException e) {
+            failure = e;
+            return e;
+        }
+
+        void release() {
+            if (inflater != null) {
+                pool.releaseInflater(inflater);
+                inflater = null;
+                finished = true;
+            }
+        }
+
+    }
+
+    /**
+     * Thrown when the body inflates to more than the maximum size.
+     */
+    public static class InflatedSizeExceededException extends IOException {
+
+        InflatedSizeExceededException(long maxSize) {
+            super("Inflated request body exceeds " + maxSize + " bytes");
+        }
+
+    }
+
+}
@@ -0,0 +1,415 @@
+package org.openapitools.web;
+
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Response wrapper that gzips the body while it is written, once it is known to reach
+ * {@code minSize} bytes, with a {@link Deflater} from a {@link ZlibPool}.
+ *
+ * <p>A declared {@code Content-Length} decides up front; otherwise up to {@code minSize} bytes
+ * are held back until the threshold is crossed or the response ends, in which case they are
+ * written unencoded with an exact length. Compressed output is streamed to the client as the
+ * deflater produces it. Bodies that already carry a {@code Content-Encoding} and error
+ * responses are left alone. {@link #finish()} completes the body and {@link #release()} returns
+ * the deflater to the pool.</p>
+ */
+public class GzipHttpServletResponse extends HttpServletResponseWrapper {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final ZlibPool pool;
+    private final int minSize;
+    private final int level;
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+    private boolean identity;
+
+    public GzipHttpServletResponse(HttpServletResponse response, ZlibPool pool, int minSize, int level) {
+        super(response);
+        this.pool = pool;
+        this.minSize = minSize;
+        this.level = level;
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header value accepts gzip.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        accepted = Double.parseDouble(parameter.substring(2).trim()) > 0;
+                    } catch (NumberFormatException e) {
+                        accepted = false;
+                    }
+                }
+            }
+            if ("gzip".equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                return accepted;
+            }
+            if ("*".equals(name)) {
+                wildcard = accepted;
+            }
+        }
+        return wildcard;
+    }
+
+    public boolean isCompressed() {
+        return outputStream != null && outputStream.gzip;
+    }
+
+    /**
+     * Number of body bytes written by the chain.
+     */
+    public long getOriginalSize() {
+        return outputStream != null ? outputStream.written : 0;
+    }
+
+    /**
+     * Number of gzip bytes sent, including header and trailer; only meaningful once finished.
+     */
+    public long getCompressedSize() {
+        return outputStream != null ? outputStream.compressed : 0;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        return stream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(stream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    private CompressingOutputStream stream() {
+        if (outputStream == null) {
+            outputStream = new CompressingOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (isCompressed()) {
+            return;
+        }
+        contentLength = len;
+        if (identity || len < minSize) {
+            identity = true;
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (!intercept(name, value)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (!intercept(name, value)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (!intercept(name, Integer.toString(value))) {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (!intercept(name, Integer.toString(value))) {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    private boolean intercept(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            if (value != null) {
+                setContentLengthLong(Long.parseLong(value.trim()));
+            }
+            return true;
+        }
+        if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) && !isCompressed() && !identity) {
+            identity = true;
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discard();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discard();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        discard();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        contentLength = -1;
+        identity = false;
+        if (outputStream != null) {
+            outputStream.restart();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (outputStream != null && !isCompressed()) {
+            outputStream.count = 0;
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream == null || outputStream.count == 0) {
+            super.flushBuffer();
+        }
+    }
+
+    private void discard() {
+        identity = true;
+        if (outputStream != null) {
+            outputStream.restart();
+        }
+    }
+
+    /**
+     * Writes out any held-back body and completes the gzip stream.
+     */
+    public void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (outputStream != null) {
+            outputStream.finish();
+        }
+    }
+
+    /**
+     * Returns the deflater to the pool; nothing can be written afterwards.
+     */
+    public void release() {
+        if (outputStream != null) {
+            outputStream.releaseDeflater();
+        }
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        private byte[] held = new byte[Math.min(minSize, 1024)];
+        private int count;
+        private OutputStream target;
+        private Deflater deflater;
+        private boolean gzip;
+        private final CRC32 crc = new CRC32();
+        private final byte[] output = new byte[8192];
+        private long written;
+        private long compressed;
+        private boolean finished;
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * The body is compressed with blocking writes, so the listener may write right away.
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                writeListener.onWritePossible();
+            } catch (IOException e) {
+                writeListener.onError(e);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (finished) {
+                throw new IOException("Response body already completed");
+            }
+            written += len;
+            if (deflater != null) {
+                deflate(b, off, len);
+                return;
+            }
+            if (target == null) {
+                if (identity) {
+                    startIdentity();
+                } else if (contentLength >= minSize || count + len >= minSize) {
+                    startGzip();
+                    deflate(b, off, len);
+                    return;
+                } else {
+                    hold(b, off, len);
+                    return;
+                }
+            }
+            target.write(b, off, len);
+        }
+
+        private void hold(byte[] b, int off, int len) {
+            if (count + len > held.length) {
+                held = Arrays.copyOf(held, Math.max(count + len, Math.min(held.length * 2, minSize)));
+            }
+            System.arraycopy(b, off, held, count, len);
+            count += len;
+        }
+
+        private void startIdentity() throws IOException {
+            target = GzipHttpServletResponse.super.getOutputStream();
+            if (count > 0) {
+                target.write(held, 0, count);
+                count = 0;
+            }
+        }
+
+        private void startGzip() throws IOException {
+            GzipHttpServletResponse.super.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            target = GzipHttpServletResponse.super.getOutputStream();
+            deflater = pool.acquireDeflater(level);
+            gzip = true;
+            target.write(GZIP_HEADER);
+            compressed = GZIP_HEADER.length;
+            if (count > 0) {
+                int n = count;
+                count = 0;
+                deflate(held, 0, n);
+            }
+        }
+
+        private void deflate(byte[] b, int off, int len) throws IOException {
+            crc.update(b, off, len);
+            deflater.setInput(b, off, len);
+            while (!deflater.needsInput()) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            int n = deflater.deflate(output, 0, output.length, Deflater.NO_FLUSH);
+            if (n > 0) {
+                target.write(output, 0, n);
+                compressed += n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (deflater != null) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    drain();
+                }
+                long value = crc.getValue();
+                byte[] trailer = {
+                        (byte) value, (byte) (value >> 8), (byte) (value >> 16), (byte) (value >> 24),
+                        (byte) written, (byte) (written >> 8), (byte) (written >> 16), (byte) (written >> 24)};
+                target.write(trailer);
+                compressed += trailer.length;
+                releaseDeflater();
+            } else if (target == null && count > 0) {
+                if (!isCommitted() && contentLength < 0) {
+                    GzipHttpServletResponse.super.setContentLengthLong(count);
+                }
+                startIdentity();
+            }
+        }
+
+        void restart() {
+            releaseDeflater();
+            target = null;
+            gzip = false;
+            count = 0;
+            crc.reset();
+            written = 0;
+            compressed = 0;
+        }
+
+        void releaseDeflater() {
+            if (deflater != null) {
+                pool.releaseDeflater(deflater);
+                deflater = null;
+            }
+        }
+
+    }
+
+}
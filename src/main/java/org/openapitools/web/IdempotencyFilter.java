@@ -0,0 +1,248 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Answers retried extension calls from an {@link IdempotentResponseCache} keyed by operation, the
+ * {@code requestId} every request body carries and the {@code Accept} header, and collapses
+ * concurrent duplicates onto the first in-flight call. Replays restore the status, content type
+ * and the headers the handler set. Enabled with {@code openapi.extension.idempotency.enabled=true}.
+ *
+ * <p>Bodies are told apart by their SHA-256 digest. Only bodies up to
+ * {@code openapi.extension.idempotency.max-body-size} are buffered; longer ones bypass the cache
+ * and are streamed to the handler. Only responses with a status below 500 are cached, so a
+ * failed call is retried for real. Start-up warm-up calls are never cached. Outcomes are
+ * counted in {@code extension.idempotency.requests} tagged with {@code result} ({@code hit},
+ * {@code miss}, {@code collapsed} or {@code bypass}).</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 200)
+@ConditionalOnProperty(name = "openapi.extension.idempotency.enabled", havingValue = "true")
+public class IdempotencyFilter extends ExtensionOperationFilter {
+
+    private static final String REQUEST_ID_FIELD = "requestId";
+
+    private final ObjectMapper objectMapper;
+    private final IdempotentResponseCache cache;
+    private final long waitTimeoutMillis;
+    private final long maxBodySize;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter collapsed;
+    private final Counter bypassed;
+
+    public IdempotencyFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                             @Value("${openapi.extension.idempotency.max-size:10000}") int maxSize,
+                             @Value("${openapi.extension.idempotency.ttl:60s}") Duration ttl,
+                             @Value("${openapi.extension.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                             @Value("${openapi.extension.idempotency.max-body-size:1MB}") DataSize maxBodySize,
+                             ObjectMapper objectMapper, MeterRegistry registry) {
+        super(basePath);
+        this.objectMapper = objectMapper;
+        this.cache = new IdempotentResponseCache(maxSize, ttl.toNanos());
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.maxBodySize = maxBodySize.toBytes();
+        this.hits = counter(registry, "hit");
+        this.misses = counter(registry, "miss");
+        this.collapsed = counter(registry, "collapsed");
+        this.bypassed = counter(registry, "bypass");
+        registry.gauge("extension.idempotency.size", cache, IdempotentResponseCache::size);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("extension.idempotency.requests").tag("result", result).register(registry);
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (Warmup.isWarmup(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest = CachedBodyHttpServletRequest.of(request, maxBodySize);
+        if (!cachedRequest.isComplete()) {
+            bypassed.increment();
+            filterChain.doFilter(cachedRequest, response);
+            return;
+        }
+        byte[] body = cachedRequest.getBody();
+        String requestId = JsonBodies.topLevelText(objectMapper.getFactory(), body, REQUEST_ID_FIELD);
+        if (requestId == null) {
+            bypassed.increment();
+            filterChain.doFilter(cachedRequest, response);
+            return;
+        }
+
+        IdempotentResponseCache.Lookup lookup = cache.lookup(operation, requestId,
+                request.getHeader(HttpHeaders.ACCEPT), IdempotentResponseCache.digest(body));
+        switch (lookup.getKind()) {
+            case OWNER:
+                misses.increment();
+                execute(lookup, cachedRequest, response, filterChain);
+                return;
+            case HIT:
+            case COLLAPSED:
+                IdempotentResponseCache.CachedResponse cached = await(lookup);
+                if (cached != null) {
+                    (lookup.getKind() == IdempotentResponseCache.Lookup.Kind.HIT ? hits : collapsed).increment();
+                    write(cached, response);
+                    return;
+                }
+                break;
+            default:
+                break;
+        }
+        bypassed.increment();
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private void execute(IdempotentResponseCache.Lookup lookup, HttpServletRequest request,
+                         HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        CapturingResponse capture = new CapturingResponse(response);
+        IdempotentResponseCache.CachedResponse result = null;
+        try {
+            filterChain.doFilter(request, capture);
+            if (!capture.errorSent && capture.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR
+                    && !request.isAsyncStarted()) {
+                result = new IdempotentResponseCache.CachedResponse(capture.getStatus(), capture.getContentType(),
+                        capture.headers, capture.getContentAsByteArray());
+            }
+        } finally {
+            cache.complete(lookup, result);
+            if (!request.isAsyncStarted()) {
+                capture.copyBodyToResponse();
+            }
+        }
+    }
+
+    private IdempotentResponseCache.CachedResponse await(IdempotentResponseCache.Lookup lookup) {
+        try {
+            return lookup.getResponse().get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private static void write(IdempotentResponseCache.CachedResponse cached, HttpServletResponse response) throws IOException {
+        response.setStatus(cached.getStatus());
+        cached.getHeaders().forEach((name, values) -> {
+            for (String value : values) {
+                response.addHeader(name, value);
+            }
+        });
+        if (cached.getContentType() != null) {
+            response.setContentType(cached.getContentType());
+        }
+        response.setContentLength(cached.getBody().length);
+        response.getOutputStream().write(cached.getBody());
+    }
+
+    /**
+     * Remembers whether the chain used {@code sendError}, whose body is rendered by a later error
+     * dispatch and therefore never reaches the captured content, and which headers the chain set,
+     * apart from the content type and length that are replayed separately.
+     */
+    private static final class CapturingResponse extends ContentCachingResponseWrapper {
+
+        private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+        private boolean errorSent;
+
+        CapturingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value);
+            if (isReplayed(name)) {
+                List<String> values = new ArrayList<>(1);
+                values.add(value);
+                headers.put(name, values);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value);
+            if (isReplayed(name)) {
+                headers.computeIfAbsent(name, key -> new ArrayList<>(1)).add(value);
+            }
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            super.setDateHeader(name, date);
+            if (isReplayed(name)) {
+                headers.put(name, new ArrayList<>(Collections.singletonList(getHeader(name))));
+            }
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            super.addDateHeader(name, date);
+            if (isReplayed(name)) {
+                headers.put(name, new ArrayList<>(getHeaders(name)));
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            setHeader(name, Integer.toString(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            addHeader(name, Integer.toString(value));
+        }
+
+        private static boolean isReplayed(String name) {
+            return !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+
+        @Override
+        public void sendError(int statusCode) throws IOException {
+            errorSent = true;
+            super.sendError(statusCode);
+        }
+
+        @Override
+        public void sendError(int statusCode, String message) throws IOException {
+            errorSent = true;
+            super.sendError(statusCode, message);
+        }
+
+    }
+
+}
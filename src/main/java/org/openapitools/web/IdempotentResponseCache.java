@@ -0,0 +1,223 @@
+package org.openapitools.web;
+
+import org.openapitools.api.ExtensionOperation;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, TTL-based store of extension responses keyed by operation, {@code requestId} and the
+ * {@code Accept} header the response was negotiated for.
+ *
+ * <p>The first request for a key becomes its owner and computes the response; concurrent
+ * duplicates receive the same in-flight future instead of running the handler again. Owners
+ * that do not produce a cacheable response complete with {@code null}, which removes the
+ * entry and lets waiting duplicates run on their own. Entries are evicted in insertion
+ * order once they expire or the cache exceeds its maximum size.</p>
+ */
+public class IdempotentResponseCache {
+
+    private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    public IdempotentResponseCache(int maxSize, long ttlNanos) {
+        this(maxSize, ttlNanos, System::nanoTime);
+    }
+
+    IdempotentResponseCache(int maxSize, long ttlNanos, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Looks up or claims the entry for a request. {@code requestDigest}, a SHA-256 digest of the
+     * request body, ensures that a reused {@code requestId} with a different payload is never
+     * answered from the cache. {@code accept} is the {@code Accept} header of the request, so a
+     * retry asking for another media type is not answered with the body negotiated for the first.
+     */
+    public Lookup lookup(ExtensionOperation operation, String requestId, String accept, byte[] requestDigest) {
+        Key key = new Key(operation, requestId, accept);
+        long now = nanoClock.getAsLong();
+        while (true) {
+            Entry existing = entries.get(key);
+            if (existing != null) {
+                if (now - existing.createdAt > ttlNanos) {
+                    entries.remove(key, existing);
+                    continue;
+                }
+                if (!MessageDigest.isEqual(existing.requestDigest, requestDigest)) {
+                    return new Lookup(Lookup.Kind.BYPASS, key, null);
+                }
+                return new Lookup(existing.response.isDone() ? Lookup.Kind.HIT : Lookup.Kind.COLLAPSED, key, existing);
+            }
+            Entry created = new Entry(requestDigest, now);
+            if (entries.putIfAbsent(key, created) == null) {
+                insertionOrder.add(key);
+                evict(now);
+                return new Lookup(Lookup.Kind.OWNER, key, created);
+            }
+        }
+    }
+
+    /**
+     * The SHA-256 digest of a request body, for {@link #lookup}.
+     */
+    public static byte[] digest(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Publishes the owner's response, or {@code null} if it must not be cached.
+     */
+    public void complete(Lookup lookup, CachedResponse response) {
+        if (response == null) {
+            entries.remove(lookup.key, lookup.entry);
+        }
+        lookup.entry.response.complete(response);
+    }
+
+    private void evict(long now) {
+        Key head;
+        while ((head = insertionOrder.peek()) != null) {
+            Entry entry = entries.get(head);
+            boolean stale = entry == null || now - entry.createdAt > ttlNanos;
+            if (!stale && entries.size() <= maxSize) {
+                return;
+            }
+            if (insertionOrder.remove(head) && entry != null) {
+                entries.remove(head, entry);
+            }
+        }
+    }
+
+    /**
+     * Result of {@link #lookup}: the caller either owns the computation, waits for it, reuses a
+     * completed response, or bypasses the cache.
+     */
+    public static final class Lookup {
+
+        public enum Kind { OWNER, HIT, COLLAPSED, BYPASS }
+
+        private final Kind kind;
+        private final Key key;
+        private final Entry entry;
+
+        Lookup(Kind kind, Key key, Entry entry) {
+            this.kind = kind;
+            this.key = key;
+            this.entry = entry;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public CompletableFuture<CachedResponse> getResponse() {
+            return entry.response;
+        }
+
+    }
+
+    /**
+     * A captured response: status, content type, the headers the handler set and body bytes.
+     */
+    public static final class CachedResponse {
+
+        private final int status;
+        private final String contentType;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        public CachedResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.body = body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+    }
+
+    private static final class Entry {
+
+        final byte[] requestDigest;
+        final long createdAt;
+        final CompletableFuture<CachedResponse> response = new CompletableFuture<>();
+
+        Entry(byte[] requestDigest, long createdAt) {
+            this.requestDigest = requestDigest;
+            this.createdAt = createdAt;
+        }
+
+    }
+
+    private static final class Key {
+
+        final ExtensionOperation operation;
+        final String requestId;
+        final String accept;
+
+        Key(ExtensionOperation operation, String requestId, String accept) {
+            this.operation = operation;
+            this.requestId = requestId;
+            this.accept = accept;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return operation == other.operation && requestId.equals(other.requestId)
+                    && Objects.equals(accept, other.accept);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * operation.hashCode() + requestId.hashCode()) + Objects.hashCode(accept);
+        }
+
+    }
+
+}
@@ -0,0 +1,50 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+
+/**
+ * Streaming helpers for peeking into JSON request bodies without binding them to models.
+ */
+public final class JsonBodies {
+
+    private JsonBodies() {
+    }
+
+    /**
+     * Returns the text of a top-level field, or {@code null} if the body is not a JSON object,
+     * cannot be parsed or does not contain the field as a scalar. Nested values are skipped
+     * without being materialised.
+     */
+    public static String topLevelText(JsonFactory factory, byte[] body, String fieldName) {
+        try (JsonParser parser = factory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (fieldName.equals(name)) {
+                    return value.isScalarValue() ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether a {@code Content-Type} header value denotes {@code application/json}.
+     */
+    public static boolean isJson(String contentType) {
+        return contentType != null && contentType.regionMatches(true, 0, MediaType.APPLICATION_JSON_VALUE, 0,
+                MediaType.APPLICATION_JSON_VALUE.length());
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.openapitools.web;
+
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects a response body in buffers from a {@link DirectBufferPool}, growing by one size class
+ * per chunk instead of copying, so that the encoded length is known before anything is written.
+ *
+ * <p>{@link #writeTo(OutputStream)} hands the chunks to Tomcat's output stream as
+ * {@link ByteBuffer}s; other streams are written through a channel. {@link #release()} returns
+ * all chunks to the pool.</p>
+ */
+public class PooledBufferOutputStream extends OutputStream {
+
+    private static final boolean TOMCAT = ClassUtils.isPresent(
+            "org.apache.catalina.connector.CoyoteOutputStream", PooledBufferOutputStream.class.getClassLoader());
+
+    private final DirectBufferPool pool;
+    private final List<ByteBuffer> chunks = new ArrayList<>(4);
+    private ByteBuffer current;
+    private long size;
+
+    public PooledBufferOutputStream(DirectBufferPool pool) {
+        this.pool = pool;
+        this.current = pool.acquire(0);
+        chunks.add(current);
+    }
+
+    @Override
+    public void write(int b) {
+        if (!current.hasRemaining()) {
+            grow();
+        }
+        current.put((byte) b);
+        size++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (!current.hasRemaining()) {
+                grow();
+            }
+            int n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+            size += n;
+        }
+    }
+
+    private void grow() {
+        current = pool.acquire(current.capacity() + 1);
+        chunks.add(current);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes the collected bytes to {@code out}.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        WritableByteChannel channel = null;
+        for (ByteBuffer chunk : chunks) {
+            ByteBuffer content = chunk.duplicate();
+            ((Buffer) content).flip();
+            if (TOMCAT && Tomcat.write(out, content)) {
+                continue;
+            }
+            if (channel == null) {
+                channel = Channels.newChannel(out);
+            }
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+    }
+
+    /**
+     * Returns the chunks to the pool; the stream must not be used afterwards. Unlike
+     * {@link #close()}, which serializers call when they finish, this has to be called explicitly
+     * once the bytes have been written out.
+     */
+    public void release() {
+        for (ByteBuffer chunk : chunks) {
+            pool.release(chunk);
+        }
+        chunks.clear();
+    }
+
+    /**
+     * Kept separate so the Tomcat class is only linked when it is present.
+     */
+    private static final class Tomcat {
+
+        static boolean write(OutputStream out, ByteBuffer content) throws IOException {
+            if (out instanceof CoyoteOutputStream) {
+                ((CoyoteOutputStream) out).write(content);
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+}
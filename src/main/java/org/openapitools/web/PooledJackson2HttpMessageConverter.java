@@ -0,0 +1,47 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter that encodes response bodies into pooled direct buffers and writes them with
+ * an exact {@code Content-Length}, instead of streaming through the servlet output buffer.
+ */
+public class PooledJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final DirectBufferPool pool;
+
+    public PooledJackson2HttpMessageConverter(ObjectMapper objectMapper, DirectBufferPool pool) {
+        super(objectMapper);
+        this.pool = pool;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        PooledBufferOutputStream buffer = new PooledBufferOutputStream(pool);
+        try {
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            outputMessage.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(outputMessage.getBody());
+        } finally {
+            buffer.release();
+        }
+    }
+
+}
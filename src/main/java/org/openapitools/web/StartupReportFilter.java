@@ -0,0 +1,80 @@
+package org.openapitools.web;
+
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Logs how long after JVM start the application became ready and answered its first extension
+ * call, when {@code openapi.extension.startup-report.enabled=true}. Any completed call counts,
+ * whatever its status, since the generated stubs answer 501 until handlers are implemented;
+ * start-up warm-up calls do not. Once the first call has been reported the filter steps out of
+ * the chain.
+ *
+ * <p>With {@code openapi.extension.startup-report.exit-when-ready=true} the application shuts
+ * down as soon as it is ready, after any warm-up runner has completed. The {@code appcds} Maven
+ * profile uses this for the training run that records the class-data-sharing archive.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "openapi.extension.startup-report.enabled", havingValue = "true")
+public class StartupReportFilter extends ExtensionOperationFilter implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReportFilter.class);
+
+    private final boolean exitWhenReady;
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    public StartupReportFilter(@Value(BASE_PATH_PROPERTY) String basePath,
+                               @Value("${openapi.extension.startup-report.exit-when-ready:false}") boolean exitWhenReady) {
+        super(basePath);
+        this.exitWhenReady = exitWhenReady;
+    }
+
+    private static long millisSinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        log.info("Ready {} ms after JVM start", millisSinceJvmStart());
+        if (exitWhenReady) {
+            log.info("Exiting as requested by openapi.extension.startup-report.exit-when-ready");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    @Override
+    protected boolean appliesTo(ExtensionOperation operation) {
+        return !reported.get();
+    }
+
+    @Override
+    protected void doFilterOperation(ExtensionOperation operation, HttpServletRequest request,
+                                     HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (!Warmup.isWarmup(request) && reported.compareAndSet(false, true)) {
+            log.info("First extension call ({}) answered with {} {} ms after JVM start",
+                    operation.getOperationId(), response.getStatus(), millisSinceJvmStart());
+        }
+    }
+
+}
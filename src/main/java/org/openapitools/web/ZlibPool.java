@@ -0,0 +1,72 @@
+package org.openapitools.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Pool of raw (no zlib header) {@link Deflater}s and {@link Inflater}s, which hold native
+ * memory and are expensive to create for every response.
+ *
+ * <p>At most {@code maxPooled} idle instances of each kind are kept; surplus ones are ended on
+ * release. Idle instances and allocations on an empty pool are published as
+ * {@code extension.compression.pooled} and {@code extension.compression.pool-misses}, tagged
+ * with {@code codec} ({@code deflater} or {@code inflater}).</p>
+ */
+public class ZlibPool {
+
+    private final ArrayBlockingQueue<Deflater> deflaters;
+    private final ArrayBlockingQueue<Inflater> inflaters;
+    private final Counter deflaterMisses;
+    private final Counter inflaterMisses;
+
+    public ZlibPool(int maxPooled, MeterRegistry registry) {
+        this.deflaters = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+        this.inflaters = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+        this.deflaterMisses = Counter.builder("extension.compression.pool-misses").tag("codec", "deflater").register(registry);
+        this.inflaterMisses = Counter.builder("extension.compression.pool-misses").tag("codec", "inflater").register(registry);
+        Gauge.builder("extension.compression.pooled", deflaters, ArrayBlockingQueue::size).tag("codec", "deflater").register(registry);
+        Gauge.builder("extension.compression.pooled", inflaters, ArrayBlockingQueue::size).tag("codec", "inflater").register(registry);
+    }
+
+    /**
+     * Returns a deflater ready for a new stream at the given level.
+     */
+    public Deflater acquireDeflater(int level) {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            deflaterMisses.increment();
+            return new Deflater(level, true);
+        }
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    public void releaseDeflater(Deflater deflater) {
+        deflater.reset();
+        if (!deflaters.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    public Inflater acquireInflater() {
+        Inflater inflater = inflaters.poll();
+        if (inflater == null) {
+            inflaterMisses.increment();
+            return new Inflater(true);
+        }
+        return inflater;
+    }
+
+    public void releaseInflater(Inflater inflater) {
+        inflater.reset();
+        if (!inflaters.offer(inflater)) {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.openapitools.api;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchEntryRequestTest {
+
+    @Test
+    void keepsWhatWasCopiedOnceTheBatchRequestIsRecycled() {
+        MockHttpServletRequest original = new MockHttpServletRequest("POST", "/batch");
+        original.addHeader("Authorization", "Bearer token");
+        original.addHeader("Accept", "application/json");
+        original.addHeader("Accept", "application/cbor");
+        original.setAttribute("attribute", "value");
+        BatchEntryRequest request = new BatchEntryRequest(original).forEntry();
+
+        original.clearAttributes();
+        original.removeHeader("Authorization");
+        original.setMethod("GET");
+
+        assertThat(request.getHeader("authorization")).isEqualTo("Bearer token");
+        assertThat(Collections.list(request.getHeaders("Accept"))).containsExactly("application/json", "application/cbor");
+        assertThat(request.getAttribute("attribute")).isEqualTo("value");
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getRequestURI()).isEqualTo("/batch");
+    }
+
+    @Test
+    void givesEachEntryAttributesOfItsOwn() {
+        MockHttpServletRequest original = new MockHttpServletRequest();
+        original.setAttribute("shared", "value");
+        BatchEntryRequest batch = new BatchEntryRequest(original);
+        BatchEntryRequest first = batch.forEntry();
+        BatchEntryRequest second = batch.forEntry();
+
+        first.setAttribute("entry", "first");
+        second.removeAttribute("shared");
+
+        assertThat(first.getAttribute("shared")).isEqualTo("value");
+        assertThat(second.getAttribute("entry")).isNull();
+        assertThat(original.getAttribute("entry")).isNull();
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.openapitools.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating the request examples of openapi.yaml, bound to their generated models, with
+ * Hibernate Validator against the generated {@link ContractValidated#validateContract} checks,
+ * deep and shallow. Each call validates the next example in turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContractValidationBenchmark {
+
+    private static final String MODEL_PACKAGE = "org.openapitools.model.";
+
+    private final List<Object> bodies = new ArrayList<>();
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private int next = -1;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        OpenApiSpec spec = new OpenApiSpec();
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            JsonNode schema = spec.operation(operation).path("requestBody").path("content")
+                    .path("application/json").path("schema");
+            List<JsonNode> examples = spec.requestExamples(operation);
+            if (schema.has("$ref") && !examples.isEmpty()) {
+                Class<?> type = Class.forName(MODEL_PACKAGE + OpenApiSpec.schemaName(schema.get("$ref").asText()));
+                bodies.add(mapper.treeToValue(examples.get(0), type));
+            }
+        }
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    private Object next() {
+        next = next + 1 == bodies.size() ? 0 : next + 1;
+        return bodies.get(next);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Object>> beanValidation() {
+        return validator.validate(next());
+    }
+
+    @Benchmark
+    public List<String> compiledDeep() {
+        ContractViolations violations = new ContractViolations(true);
+        ((ContractValidated) next()).validateContract(violations);
+        return violations.getMessages();
+    }
+
+    @Benchmark
+    public List<String> compiledShallow() {
+        ContractViolations violations = new ContractViolations(false);
+        ((ContractValidated) next()).validateContract(violations);
+        return violations.getMessages();
+    }
+
+}
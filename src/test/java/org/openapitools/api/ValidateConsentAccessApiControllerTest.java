@@ -0,0 +1,78 @@
+package org.openapitools.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.consent.ConsentCache;
+import org.openapitools.consent.ConsentFrequencyLimiter;
+import org.openapitools.model.FailedResponse;
+import org.openapitools.model.Response200;
+import org.openapitools.model.StoredDetailedConsentResourceData;
+import org.openapitools.model.ValidateConsentAccessData;
+import org.openapitools.model.ValidateConsentAccessRequestBody;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidateConsentAccessApiControllerTest {
+
+    private final StaticListableBeanFactory beans = new StaticListableBeanFactory();
+    private final ConsentFrequencyLimiter limiter = new ConsentFrequencyLimiter(100, ZoneOffset.UTC, null,
+            Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @AfterEach
+    void shutdown() {
+        limiter.shutdown();
+    }
+
+    @Test
+    void enforcesTheFrequencyOnTheGeneratedHandler() {
+        beans.addBean("limiter", limiter);
+        ValidateConsentAccessApiController controller = controller();
+
+        ResponseEntity<Response200> first = controller.validateConsentAccessPost(body("r1", 2));
+        ResponseEntity<Response200> second = controller.validateConsentAccessPost(body("r2", 2));
+        ResponseEntity<Response200> third = controller.validateConsentAccessPost(body("r3", 2));
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+        assertThat(third.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(third.getBody()).isInstanceOf(FailedResponse.class);
+        FailedResponse refused = (FailedResponse) third.getBody();
+        assertThat(refused.getResponseId()).isEqualTo("r3");
+        assertThat(refused.getErrorCode()).isEqualTo(429);
+        assertThat(limiter.getCount("c")).isEqualTo(2);
+    }
+
+    @Test
+    void leavesCallsAloneWithoutALimiter() {
+        ValidateConsentAccessApiController controller = controller();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(controller.validateConsentAccessPost(body("r", 1)).getStatusCode())
+                    .isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+        }
+    }
+
+    private ValidateConsentAccessApiController controller() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/validate-consent-access");
+        request.addHeader("Accept", "application/json");
+        return new ValidateConsentAccessApiController(new ServletWebRequest(request, new MockHttpServletResponse()),
+                beans.getBeanProvider(ConsentCache.class), beans.getBeanProvider(ConsentFrequencyLimiter.class));
+    }
+
+    private static ValidateConsentAccessRequestBody body(String requestId, int frequency) {
+        StoredDetailedConsentResourceData resource = new StoredDetailedConsentResourceData("c", null, 1, 1, "client",
+                "accounts", "AUTHORISED", frequency, 0, true, null, null, null);
+        return new ValidateConsentAccessRequestBody(requestId, new ValidateConsentAccessData("c", resource, null));
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.openapitools.configuration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.OpenApiSpec;
+import org.openapitools.jackson.Rfc3339Module;
+import org.openapitools.jackson.nullable.JsonNullableModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding the request examples of openapi.yaml, bound to their generated models,
+ * as JSON, CBOR and Smile. The mappers are built like {@link BinaryFormatConfiguration}'s, and
+ * each call handles the next example in turn. The total encoded size of the examples in each
+ * format is printed when the fork starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    private static final String MODEL_PACKAGE = "org.openapitools.model.";
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private final List<Object> models = new ArrayList<>();
+    private final List<ObjectWriter> writers = new ArrayList<>();
+    private final List<ObjectReader> readers = new ArrayList<>();
+    private final List<byte[]> encoded = new ArrayList<>();
+    private int next = -1;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = mapper(new JsonFactory());
+        ObjectMapper mapper = "cbor".equals(format) ? mapper(new CBORFactory())
+                : "smile".equals(format) ? mapper(new SmileFactory()) : json;
+        OpenApiSpec spec = new OpenApiSpec();
+        long size = 0;
+        for (ExtensionOperation operation : ExtensionOperation.values()) {
+            JsonNode schema = spec.operation(operation).path("requestBody").path("content")
+                    .path("application/json").path("schema");
+            List<JsonNode> examples = spec.requestExamples(operation);
+            if (!schema.has("$ref") || examples.isEmpty()) {
+                continue;
+            }
+            Class<?> type = Class.forName(MODEL_PACKAGE + OpenApiSpec.schemaName(schema.get("$ref").asText()));
+            Object model = json.treeToValue(examples.get(0), type);
+            byte[] bytes = mapper.writerFor(type).writeValueAsBytes(model);
+            models.add(model);
+            writers.add(mapper.writerFor(type));
+            readers.add(mapper.readerFor(type));
+            encoded.add(bytes);
+            size += bytes.length;
+        }
+        System.out.printf("%s: %d examples, %d bytes%n", format, models.size(), size);
+    }
+
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json().factory(factory)
+                .modulesToInstall(new JsonNullableModule(), new Rfc3339Module()).build();
+    }
+
+    private int next() {
+        next = next + 1 == models.size() ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        int i = next();
+        return writers.get(i).writeValueAsBytes(models.get(i));
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        int i = next();
+        return readers.get(i).readValue(encoded.get(i));
+    }
+
+}
@@ -0,0 +1,97 @@
+package org.openapitools.consent;
+
+import org.openapitools.model.StoredAuthorization;
+import org.openapitools.model.StoredResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConsentAccessIndex} against a linear scan of {@code authorizations[].resources[]}. The
+ * consent has four authorizations over the given number of accounts and 24 permissions, with
+ * about two thirds of the pairs granted and one in ten of those revoked. Each lookup takes the
+ * next of 1024 random pairs, held in fresh strings so that neither side can compare references.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsentAccessIndexBenchmark {
+
+    private static final int PERMISSIONS = 24;
+    private static final int QUERIES = 1024;
+
+    @Param({"5", "50", "200", "500"})
+    public int accounts;
+
+    private final List<StoredAuthorization> authorizations = new ArrayList<>();
+    private final String[] accountIds = new String[QUERIES];
+    private final String[] permissions = new String[QUERIES];
+    private ConsentAccessIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        int resources = 0;
+        for (int user = 0; user < 4; user++) {
+            List<StoredResource> granted = new ArrayList<>();
+            for (int account = user; account < accounts; account += 4) {
+                for (int permission = 0; permission < PERMISSIONS; permission++) {
+                    if (random.nextInt(3) > 0) {
+                        granted.add(new StoredResource("r" + resources++, "acc-" + account, "ReadPermission" + permission,
+                                random.nextInt(10) == 0 ? "revoked" : "active"));
+                    }
+                }
+            }
+            authorizations.add(new StoredAuthorization("a" + user, "user" + user, "primary", "authorised", granted));
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            accountIds[i] = new String("acc-" + random.nextInt(accounts));
+            permissions[i] = new String("ReadPermission" + random.nextInt(PERMISSIONS));
+        }
+        index = ConsentAccessIndex.of(authorizations);
+        System.out.printf("%d accounts: %d resources%n", accounts, resources);
+    }
+
+    @Benchmark
+    public boolean scan() {
+        int i = next = (next + 1) & (QUERIES - 1);
+        for (StoredAuthorization authorization : authorizations) {
+            for (StoredResource resource : authorization.getResources()) {
+                if (accountIds[i].equals(resource.getAccountId()) && permissions[i].equals(resource.getPermission())
+                        && "active".equals(resource.getStatus())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean index() {
+        int i = next = (next + 1) & (QUERIES - 1);
+        return index.isGranted(accountIds[i], permissions[i], "active");
+    }
+
+    @Benchmark
+    public ConsentAccessIndex build() {
+        return ConsentAccessIndex.of(authorizations);
+    }
+
+}
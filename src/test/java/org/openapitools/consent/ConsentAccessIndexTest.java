@@ -0,0 +1,108 @@
+package org.openapitools.consent;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.model.StoredAuthorization;
+import org.openapitools.model.StoredDetailedConsentResourceData;
+import org.openapitools.model.StoredResource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsentAccessIndexTest {
+
+    @Test
+    void checksGrantedPairsByStatus() {
+        ConsentAccessIndex index = ConsentAccessIndex.of(Arrays.asList(
+                authorization(resource("a1", "ReadAccounts", "active"), resource("a1", "ReadBalances", "revoked")),
+                authorization(resource("a2", "ReadBalances", "active"))));
+
+        assertThat(index.isGranted("a1", "ReadAccounts")).isTrue();
+        assertThat(index.isGranted("a1", "ReadBalances")).isTrue();
+        assertThat(index.isGranted("a2", "ReadAccounts")).isFalse();
+        assertThat(index.isGranted("a1", "ReadBalances", "active")).isFalse();
+        assertThat(index.isGranted("a1", "ReadBalances", "revoked")).isTrue();
+        assertThat(index.isGranted("a2", "ReadBalances", "active")).isTrue();
+        assertThat(index.isGranted("a3", "ReadBalances")).isFalse();
+        assertThat(index.isGranted("a1", "ReadBalances", "unknown")).isFalse();
+        assertThat(index.getStatus("a1", "ReadBalances")).isEqualTo("revoked");
+        assertThat(index.getStatus("a2", "ReadAccounts")).isNull();
+        assertThat(index.getAccountIds()).containsExactly("a1", "a2");
+        assertThat(index.getPermissions()).containsExactly("ReadAccounts", "ReadBalances");
+        assertThat(index.getResourceCount()).isEqualTo(3);
+    }
+
+    @Test
+    void checksAllPermissionsOfAnAccount() {
+        ConsentAccessIndex index = ConsentAccessIndex.of(Collections.singletonList(authorization(
+                resource("a1", "ReadAccounts", "active"), resource("a1", "ReadBalances", "active"),
+                resource("a1", "ReadTransactions", "revoked"))));
+
+        assertThat(index.isGrantedAll("a1", Arrays.asList("ReadAccounts", "ReadBalances"), "active")).isTrue();
+        assertThat(index.isGrantedAll("a1", Arrays.asList("ReadAccounts", "ReadTransactions"), "active")).isFalse();
+        assertThat(index.isGrantedAll("a1", Collections.singletonList("ReadOther"), "active")).isFalse();
+        assertThat(index.isGrantedAll("a2", Collections.singletonList("ReadAccounts"), "active")).isFalse();
+        assertThat(index.isGrantedAll("a2", Collections.<String>emptyList(), "unknown")).isTrue();
+    }
+
+    @Test
+    void spansPermissionsOverSeveralWords() {
+        List<StoredResource> resources = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            resources.add(resource(i % 2 == 0 ? "a1" : "a2", "P" + i, "active"));
+        }
+        ConsentAccessIndex index = ConsentAccessIndex.of(Collections.singletonList(
+                new StoredAuthorization("auth", "user", "primary", "created", resources)));
+
+        for (int i = 0; i < 130; i++) {
+            assertThat(index.isGranted("a1", "P" + i)).as("P%d", i).isEqualTo(i % 2 == 0);
+            assertThat(index.isGranted("a2", "P" + i)).as("P%d", i).isEqualTo(i % 2 != 0);
+        }
+        assertThat(index.isGrantedAll("a1", Arrays.asList("P0", "P64", "P128"), "active")).isTrue();
+    }
+
+    @Test
+    void indexesResourcesWithoutAnAccountUnderTheNullAccount() {
+        ConsentAccessIndex index = ConsentAccessIndex.of(Collections.singletonList(
+                authorization(resource(null, "ReadAccounts", "active"))));
+
+        assertThat(index.containsAccount(null)).isTrue();
+        assertThat(index.isGranted(null, "ReadAccounts", "active")).isTrue();
+        assertThat(index.isGranted("a1", "ReadAccounts")).isFalse();
+    }
+
+    @Test
+    void isEmptyWithoutResources() {
+        ConsentAccessIndex index = ConsentAccessIndex.of(Collections.singletonList(
+                new StoredAuthorization("auth", "user", "primary", "created", null)));
+
+        assertThat(index.getResourceCount()).isZero();
+        assertThat(index.isGranted("a1", "ReadAccounts")).isFalse();
+        assertThat(ConsentAccessIndex.of(null).getAccountIds()).isEmpty();
+    }
+
+    @Test
+    void isBuiltOncePerConsentStateOnFirstUse() {
+        StoredDetailedConsentResourceData resource = new StoredDetailedConsentResourceData("c", null, 1, 1, "client",
+                "accounts", "AUTHORISED", 0, 0, false, null,
+                Collections.singletonList(authorization(resource("a1", "ReadAccounts", "active"))), null);
+        ConsentState state = ConsentState.of("c", resource);
+
+        ConsentAccessIndex index = state.getAccessIndex();
+
+        assertThat(index.isGranted("a1", "ReadAccounts", "active")).isTrue();
+        assertThat(state.getAccessIndex()).isSameAs(index);
+    }
+
+    private static StoredAuthorization authorization(StoredResource... resources) {
+        return new StoredAuthorization("auth", "user", "primary", "created", Arrays.asList(resources));
+    }
+
+    private static StoredResource resource(String accountId, String permission, String status) {
+        return new StoredResource(null, accountId, permission, status);
+    }
+
+}
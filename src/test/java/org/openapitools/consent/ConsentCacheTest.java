@@ -0,0 +1,95 @@
+package org.openapitools.consent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openapitools.model.StoredDetailedConsentResourceData;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsentCacheTest {
+
+    private final ConsentCache cache = new ConsentCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+
+    @Test
+    void takesOverAStatusChangedWithoutANewTimestamp() {
+        cache.update("c", resource(100, "AWAITING_AUTHORISATION"));
+
+        ConsentState stored = cache.update("c", resource(100, "AUTHORISED"));
+
+        assertThat(stored.getStatus()).isEqualTo("AUTHORISED");
+        assertThat(cache.get("c").getStatus()).isEqualTo("AUTHORISED");
+    }
+
+    @Test
+    void resolvesAStatusChangedWithoutANewTimestamp() {
+        cache.resolve("c", resource(100, "AUTHORISED"));
+
+        ConsentState state = cache.resolve("c", resource(100, "REVOKED"));
+
+        assertThat(state.getStatus()).isEqualTo("REVOKED");
+        assertThat(cache.get("c")).isSameAs(state);
+    }
+
+    @Test
+    void keepsANewerVersionOverAnOlderOne() {
+        cache.update("c", resource(200, "REVOKED"));
+
+        ConsentState stored = cache.update("c", resource(100, "AUTHORISED"));
+
+        assertThat(stored.getStatus()).isEqualTo("REVOKED");
+        assertThat(cache.get("c").getUpdatedTime()).isEqualTo(200);
+    }
+
+    @Test
+    void returnsTheCachedStateForTheSameVersion() {
+        ConsentState first = cache.resolve("c", resource(100, "AUTHORISED"));
+
+        assertThat(cache.resolve("c", resource(100, "AUTHORISED"))).isSameAs(first);
+    }
+
+    @Test
+    void schedulesTheExpiryOfAVersionOnce() {
+        ConsentExpiryWheel wheel = new ConsentExpiryWheel(Duration.ofSeconds(1), new SimpleMeterRegistry());
+        try {
+            ConsentCache expiring = new ConsentCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry(), wheel);
+            int validityTime = (int) (System.currentTimeMillis() / 1000) + 3600;
+
+            ConsentState first = expiring.update("c", resource(100, "AUTHORISED", validityTime));
+            ConsentState again = expiring.update("c", resource(100, "AUTHORISED", validityTime));
+            expiring.resolve("c", resource(100, "AUTHORISED", validityTime));
+
+            assertThat(again).isSameAs(first);
+            assertThat(wheel.size()).isEqualTo(1);
+
+            expiring.update("c", resource(200, "AUTHORISED", validityTime));
+
+            assertThat(wheel.size()).isEqualTo(2);
+        } finally {
+            wheel.shutdown();
+        }
+    }
+
+    @Test
+    void supersedesOnlyStrictlyLaterVersions() {
+        ConsentState older = ConsentState.of("c", resource(100, "AUTHORISED"));
+        ConsentState sameTime = ConsentState.of("c", resource(100, "REVOKED"));
+        ConsentState newer = ConsentState.of("c", resource(200, "AUTHORISED"));
+
+        assertThat(newer.supersedes(older)).isTrue();
+        assertThat(older.supersedes(newer)).isFalse();
+        assertThat(sameTime.supersedes(older)).isFalse();
+        assertThat(older.supersedes(sameTime)).isFalse();
+    }
+
+    private static StoredDetailedConsentResourceData resource(int updatedTime, String status) {
+        return resource(updatedTime, status, 0);
+    }
+
+    private static StoredDetailedConsentResourceData resource(int updatedTime, String status, int validityTime) {
+        return new StoredDetailedConsentResourceData("c", null, 50, updatedTime, "client", "accounts", status,
+                0, validityTime, false, null, null, null);
+    }
+
+}
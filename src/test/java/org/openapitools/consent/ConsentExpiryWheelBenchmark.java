@@ -0,0 +1,111 @@
+package org.openapitools.consent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConsentExpiryWheel} with two million consents expiring at random times over the next
+ * year. {@code schedule} fills a new wheel and reports the time per consent; {@code advanceDay}
+ * moves a filled wheel on by a day, cascading and expiring what falls due. The heap retained per
+ * entry, besides the consent id, is estimated and printed when the fork starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsentExpiryWheelBenchmark {
+
+    private static final int ENTRIES = 2_000_000;
+    private static final int YEAR = 365 * 86_400;
+    private static final int DAY = 86_400;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final String[] consentIds = new String[4096];
+    private final int[] validityTimes = new int[ENTRIES];
+    private long start;
+    private ConsentExpiryWheel wheel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        Random random = new Random(1);
+        for (int i = 0; i < consentIds.length; i++) {
+            consentIds[i] = "consent-" + i;
+        }
+        start = System.currentTimeMillis() / 1000 + 1;
+        for (int i = 0; i < ENTRIES; i++) {
+            validityTimes[i] = (int) start + 1 + random.nextInt(YEAR);
+        }
+        long before = usedHeap();
+        ConsentExpiryWheel retained = filledWheel();
+        long after = usedHeap();
+        System.out.printf("retained per entry: %d B for %d entries%n", (after - before) / retained.size(), ENTRIES);
+    }
+
+    @Setup(Level.Invocation)
+    public void newWheel() {
+        wheel = null;
+        wheel = new ConsentExpiryWheel(null, registry);
+        wheel.advance(start);
+    }
+
+    private ConsentExpiryWheel filledWheel() {
+        newWheel();
+        schedule();
+        return wheel;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ConsentExpiryWheel schedule() {
+        for (int i = 0; i < ENTRIES; i++) {
+            wheel.schedule(consentIds[i & (consentIds.length - 1)], validityTimes[i]);
+        }
+        return wheel;
+    }
+
+    @State(Scope.Thread)
+    public static class Filled {
+
+        ConsentExpiryWheel wheel;
+
+        @Setup(Level.Invocation)
+        public void fill(ConsentExpiryWheelBenchmark benchmark) {
+            wheel = null;
+            wheel = benchmark.filledWheel();
+        }
+
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int advanceDay(Filled filled) {
+        filled.wheel.advance(start + DAY);
+        return filled.wheel.size();
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.openapitools.consent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsentExpiryWheelTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConsentExpiryWheel wheel = new ConsentExpiryWheel(null, registry);
+    private final Map<String, Long> expiredAt = new HashMap<>();
+    private long start;
+
+    @BeforeEach
+    void syncWithTheWheel() {
+        start = System.currentTimeMillis() / 1000 + 1;
+        wheel.advance(start);
+        wheel.addListener((consentIds, epochSecond) -> {
+            for (String consentId : consentIds) {
+                assertThat(expiredAt.put(consentId, epochSecond)).as(consentId).isNull();
+            }
+        });
+    }
+
+    @Test
+    void expiresConsentsWhenTheirValidityPasses() {
+        wheel.schedule("a", (int) start + 2);
+        wheel.schedule("b", (int) start + 5);
+
+        wheel.advance(start + 1);
+        assertThat(expiredAt).isEmpty();
+        wheel.advance(start + 2);
+        assertThat(expiredAt).containsOnlyKeys("a");
+        wheel.advance(start + 10);
+        assertThat(expiredAt).containsEntry("b", start + 10);
+        assertThat(wheel.size()).isZero();
+        assertThat(registry.counter("consent.expiry.expired").count()).isEqualTo(2);
+    }
+
+    @Test
+    void expiresPassedValiditiesOnTheNextTickAndIgnoresNonExpiringConsents() {
+        wheel.schedule("passed", (int) start - 100);
+        wheel.schedule("never", 0);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        wheel.advance(start + 1);
+        assertThat(expiredAt).containsOnlyKeys("passed");
+    }
+
+    @Test
+    void cascadesEntriesFromHigherLevels() {
+        long[] offsets = {255, 256, 257, 16383, 16384, 16385, 100_000, 1_048_577};
+        for (long offset : offsets) {
+            wheel.schedule("c" + offset, (int) (start + offset));
+        }
+
+        for (long offset : offsets) {
+            wheel.advance(start + offset - 1);
+            assertThat(expiredAt).as("before %d", offset).doesNotContainKey("c" + offset);
+            wheel.advance(start + offset);
+            assertThat(expiredAt).as("at %d", offset).containsEntry("c" + offset, start + offset);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expiresEveryConsentExactlyOnceAtItsTime() {
+        Random random = new Random(42);
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long validity = start + random.nextInt(300_000) - 10;
+            wheel.schedule("c" + i, (int) validity);
+            expected.put("c" + i, Math.max(validity, start + 1));
+        }
+        List<Long> advances = new ArrayList<>();
+        for (long now = start; now < start + 300_100; now += 1 + random.nextInt(2000)) {
+            wheel.advance(now);
+            advances.add(now);
+        }
+        wheel.advance(start + 300_100);
+        advances.add(start + 300_100);
+
+        assertThat(expiredAt).hasSameSizeAs(expected);
+        for (Map.Entry<String, Long> entry : expected.entrySet()) {
+            long firstAdvance = advances.stream().filter(now -> now >= entry.getValue()).findFirst().get();
+            assertThat(expiredAt.get(entry.getKey())).as(entry.getKey()).isEqualTo(firstAdvance);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void reusesSlotsOfExpiredEntries() {
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 2000; i++) {
+                wheel.schedule("r" + round + "-" + i, (int) start + round + 1);
+            }
+            wheel.advance(start + round + 1);
+        }
+
+        assertThat(expiredAt).hasSize(6000);
+        assertThat(wheel.size()).isZero();
+    }
+
+}
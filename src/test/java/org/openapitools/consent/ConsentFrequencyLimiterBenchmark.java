@@ -0,0 +1,83 @@
+package org.openapitools.consent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access checks of {@link ConsentFrequencyLimiter} from four threads, spread over the given number
+ * of consents. {@code admitted} stays below the frequency; {@code refused} checks consents whose
+ * quota is already used up, so every attempt is counted and given back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ConsentFrequencyLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    public int consents;
+
+    private ConsentFrequencyLimiter limiter;
+    private String[] consentIds;
+    private String[] exhaustedIds;
+
+    @Setup
+    public void setUp() {
+        limiter = new ConsentFrequencyLimiter(100_000, ZoneOffset.UTC, null, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        consentIds = new String[consents];
+        exhaustedIds = new String[consents];
+        for (int i = 0; i < consents; i++) {
+            consentIds[i] = "consent-" + i;
+            exhaustedIds[i] = "exhausted-" + i;
+            limiter.tryAcquire(exhaustedIds[i], 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        limiter.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+        int next(int bound) {
+            next = next + 1 == bound ? 0 : next + 1;
+            return next;
+        }
+
+    }
+
+    @Benchmark
+    public Object admitted(Cursor cursor) {
+        return limiter.tryAcquire(consentIds[cursor.next(consents)], Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Object refused(Cursor cursor) {
+        return limiter.tryAcquire(exhaustedIds[cursor.next(consents)], 1);
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.openapitools.consent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.model.SuccessResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsentFrequencyLimiterTest {
+
+    private static final long DAY = Duration.ofDays(1).toMillis();
+
+    private final AtomicLong now = new AtomicLong(Instant.parse("2026-01-01T10:00:00Z").toEpochMilli());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<ConsentFrequencyLimiter> limiters = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void refusesAccessesBeyondTheFrequency() {
+        ConsentFrequencyLimiter limiter = limiter(100, null);
+
+        assertThat(limiter.tryAcquire("c", 2)).isNotNull();
+        assertThat(limiter.tryAcquire("c", 2)).isNotNull();
+        assertThat(limiter.tryAcquire("c", 2)).isNull();
+        assertThat(limiter.getCount("c")).isEqualTo(2);
+        assertThat(limiter.tryAcquire("other", 2)).isNotNull();
+        assertThat(registry.counter("consent.frequency.refused").count()).isEqualTo(1);
+    }
+
+    @Test
+    void givesBackAccessesThatAreDeniedOrFail() {
+        ConsentFrequencyLimiter limiter = limiter(100, null);
+
+        limiter.tryAcquire("c", 1).complete(ResponseEntity.ok(limiter.exceeded("r")));
+        limiter.tryAcquire("c", 1).complete(null);
+        limiter.tryAcquire("c", 1).complete(ResponseEntity.ok(new SuccessResponse("r", SuccessResponse.StatusEnum.SUCCESS)));
+
+        assertThat(limiter.getCount("c")).isEqualTo(1);
+        assertThat(limiter.tryAcquire("c", 1)).isNull();
+    }
+
+    @Test
+    void countsAccessesAnsweredWithoutADecision() {
+        ConsentFrequencyLimiter limiter = limiter(100, null);
+
+        limiter.tryAcquire("c", 1).complete(new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED));
+
+        assertThat(limiter.getCount("c")).isEqualTo(1);
+        assertThat(limiter.tryAcquire("c", 1)).isNull();
+    }
+
+    @Test
+    void treatsNonPositiveFrequenciesAsUnlimited() {
+        ConsentFrequencyLimiter limiter = limiter(1, null);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire("c", 0)).isNotNull();
+        }
+        assertThat(limiter.getCount("c")).isZero();
+    }
+
+    @Test
+    void startsOverWhenTheDayChanges() {
+        ConsentFrequencyLimiter limiter = limiter(100, null);
+        limiter.tryAcquire("c", 1);
+        limiter.tryAcquire("other", 1);
+
+        now.addAndGet(DAY);
+
+        assertThat(limiter.getCount("c")).isZero();
+        assertThat(limiter.tryAcquire("c", 1)).isNotNull();
+        limiter.prune();
+        assertThat(registry.get("consent.frequency.consents").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void prunesEarlierDaysInTheBackgroundAtMidnight() throws InterruptedException {
+        now.set(Instant.parse("2026-01-01T23:59:59.900Z").toEpochMilli());
+        ConsentFrequencyLimiter limiter = limiter(100, null);
+        limiter.tryAcquire("c", 1);
+
+        now.addAndGet(200);
+
+        for (int i = 0; i < 100 && registry.get("consent.frequency.consents").gauge().value() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(registry.get("consent.frequency.consents").gauge().value()).isZero();
+    }
+
+    @Test
+    void admitsNewConsentsUncountedOnceFullAndKeepsCountingKnownOnes() {
+        ConsentFrequencyLimiter limiter = limiter(2, null);
+        limiter.tryAcquire("a", 5);
+        limiter.tryAcquire("b", 5);
+
+        assertThat(limiter.tryAcquire("c", 1)).isNotNull();
+        assertThat(limiter.tryAcquire("c", 1)).isNotNull();
+        assertThat(limiter.getCount("c")).isZero();
+        assertThat(registry.counter("consent.frequency.untracked").count()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("a", 5)).isNotNull();
+        assertThat(limiter.getCount("a")).isEqualTo(2);
+
+        now.addAndGet(DAY);
+        limiter.prune();
+
+        limiter.tryAcquire("c", 1);
+        assertThat(limiter.getCount("c")).isEqualTo(1);
+    }
+
+    @Test
+    void restoresTodaysCountsFromTheCheckpoint() {
+        Path checkpoint = directory.resolve("counts.tsv");
+        ConsentFrequencyLimiter limiter = limiter(100, checkpoint);
+        limiter.tryAcquire("c", 3);
+        limiter.tryAcquire("c", 3);
+        limiter.shutdown();
+
+        ConsentFrequencyLimiter restored = limiter(100, checkpoint);
+        assertThat(restored.getCount("c")).isEqualTo(2);
+        restored.shutdown();
+
+        now.addAndGet(DAY);
+        ConsentFrequencyLimiter nextDay = limiter(100, checkpoint);
+        assertThat(nextDay.getCount("c")).isZero();
+        nextDay.shutdown();
+    }
+
+    @AfterEach
+    void shutdown() {
+        for (ConsentFrequencyLimiter limiter : limiters) {
+            limiter.shutdown();
+        }
+    }
+
+    private ConsentFrequencyLimiter limiter(long maxConsents, Path checkpointFile) {
+        ConsentFrequencyLimiter limiter = new ConsentFrequencyLimiter(maxConsents, ZoneOffset.UTC, checkpointFile,
+                Duration.ofHours(1), registry, now::get);
+        limiters.add(limiter);
+        return limiter;
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openapitools.api.OpenApiSpec;
+import org.openapitools.model.FailedResponse;
+import org.openapitools.model.Response200;
+import org.openapitools.model.SuccessResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OneOfUnionModule} against the default Jackson handling of {@link Response200}. Writing
+ * without the module goes through the serializer of the runtime class. Reading without it has to
+ * buffer a tree and pick the branch from {@code status}, since the union interface itself
+ * cannot be deserialized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OneOfUnionBenchmark {
+
+    @Param({"success", "failed"})
+    public String branch;
+
+    private final ObjectMapper plain = new ObjectMapper();
+    private ObjectWriter unionWriter;
+    private ObjectReader unionReader;
+    private Response200 value;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new OneOfUnionModule(new OpenApiSpec()));
+        unionWriter = mapper.writerFor(Response200.class);
+        unionReader = mapper.readerFor(Response200.class);
+        if ("success".equals(branch)) {
+            value = new SuccessResponse("Ec1wMjmiG8", SuccessResponse.StatusEnum.SUCCESS);
+        } else {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("errorMessage", "invalid_permissions");
+            data.put("errorDescription", "The requested permissions are invalid, unknown");
+            value = new FailedResponse("Ec1wMjmiG8", FailedResponse.StatusEnum.ERROR, 401,
+                    Collections.unmodifiableMap(data));
+        }
+        json = plain.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] writeDefault() throws IOException {
+        return plain.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] writeUnion() throws IOException {
+        return unionWriter.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Response200 readDefault() throws IOException {
+        JsonNode tree = plain.readTree(json);
+        Class<? extends Response200> type = "SUCCESS".equals(tree.path("status").asText())
+                ? SuccessResponse.class : FailedResponse.class;
+        return plain.treeToValue(tree, type);
+    }
+
+    @Benchmark
+    public Response200 readUnion() throws IOException {
+        return unionReader.readValue(json);
+    }
+
+}
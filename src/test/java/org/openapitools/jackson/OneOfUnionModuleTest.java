@@ -0,0 +1,87 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openapitools.api.OpenApiSpec;
+import org.openapitools.model.FailedResponse;
+import org.openapitools.model.Response200;
+import org.openapitools.model.SuccessResponse;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OneOfUnionModuleTest {
+
+    private static ObjectMapper mapper;
+
+    @BeforeAll
+    static void registerTheModule() {
+        mapper = new ObjectMapper().registerModule(new OneOfUnionModule(new OpenApiSpec()));
+    }
+
+    @Test
+    void roundTripsEachBranch() throws Exception {
+        Response200 success = new SuccessResponse("r1", SuccessResponse.StatusEnum.SUCCESS);
+        Response200 failed = new FailedResponse("r2", FailedResponse.StatusEnum.ERROR, 401,
+                Collections.singletonMap("errorMessage", "expired"));
+
+        for (Response200 value : Arrays.asList(success, failed)) {
+            String json = mapper.writerFor(Response200.class).writeValueAsString(value);
+
+            Response200 read = mapper.readValue(json, Response200.class);
+
+            assertThat(read).isInstanceOf(value.getClass()).isEqualTo(value);
+        }
+    }
+
+    @Test
+    void writesBranchesLikeTheirOwnSerializer() throws Exception {
+        SuccessResponse success = new SuccessResponse("r1", SuccessResponse.StatusEnum.SUCCESS);
+
+        assertThat(mapper.writerFor(Response200.class).writeValueAsString(success))
+                .isEqualTo(mapper.writeValueAsString(success));
+    }
+
+    @Test
+    void picksTheBranchWhereverStatusAppears() throws Exception {
+        Response200 statusFirst = mapper.readValue("{\"status\":\"ERROR\",\"responseId\":\"r\",\"errorCode\":429}",
+                Response200.class);
+        Response200 statusLast = mapper.readValue("{\"responseId\":\"r\",\"errorCode\":429,\"data\":{\"a\":[1]},\"status\":\"ERROR\"}",
+                Response200.class);
+
+        assertThat(statusFirst).isInstanceOf(FailedResponse.class);
+        assertThat(((FailedResponse) statusFirst).getErrorCode()).isEqualTo(429);
+        assertThat(statusLast).isInstanceOf(FailedResponse.class);
+        assertThat(((FailedResponse) statusLast).getResponseId()).isEqualTo("r");
+        assertThat(((FailedResponse) statusLast).getData()).isEqualTo(Collections.singletonMap("a", Collections.singletonList(1)));
+    }
+
+    @Test
+    void readsUnionsInsideContainers() throws Exception {
+        List<Response200> values = mapper.readValue(
+                "[{\"responseId\":\"a\",\"status\":\"SUCCESS\"},{\"responseId\":\"b\",\"status\":\"ERROR\",\"errorCode\":500}]",
+                new TypeReference<List<Response200>>() { });
+
+        assertThat(values).hasSize(2);
+        assertThat(values.get(0)).isInstanceOf(SuccessResponse.class);
+        assertThat(values.get(1)).isInstanceOf(FailedResponse.class);
+    }
+
+    @Test
+    void rejectsUnknownOrMissingStatus() {
+        assertThatThrownBy(() -> mapper.readValue("{\"responseId\":\"r\",\"status\":\"MAYBE\"}", Response200.class))
+                .isInstanceOf(MismatchedInputException.class).hasMessageContaining("Unknown status 'MAYBE'");
+        assertThatThrownBy(() -> mapper.readValue("{\"responseId\":\"r\"}", Response200.class))
+                .isInstanceOf(MismatchedInputException.class).hasMessageContaining("Missing status");
+        assertThatThrownBy(() -> mapper.readValue("[]", Response200.class))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+}
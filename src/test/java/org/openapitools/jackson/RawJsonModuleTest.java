@@ -0,0 +1,122 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawJsonModuleTest {
+
+    private static final String JSON = "{\"a\":10.25,\"b\":[1,\"\\u00e9\",null,true]}";
+
+    @Test
+    void writesTheBytesVerbatimToJsonGenerators() throws Exception {
+        ObjectMapper mapper = mapper(new ObjectMapper());
+
+        String out = mapper.writeValueAsString(Collections.singletonMap("x", RawJson.of(JSON)));
+
+        assertThat(out).isEqualTo("{\"x\":" + JSON + "}");
+    }
+
+    @Test
+    void copiesTheValueTokenByTokenToCborGenerators() throws Exception {
+        assertRoundTrip(mapper(new ObjectMapper(new CBORFactory())));
+    }
+
+    @Test
+    void copiesTheValueTokenByTokenToSmileGenerators() throws Exception {
+        assertRoundTrip(mapper(new ObjectMapper(new SmileFactory())));
+    }
+
+    @Test
+    void readsRawValuesFromBinaryFormats() throws Exception {
+        ObjectMapper cbor = mapper(new ObjectMapper(new CBORFactory()));
+        byte[] out = cbor.writeValueAsBytes(Collections.singletonMap("x", RawJson.of(JSON)));
+
+        Holder holder = cbor.readValue(out, Holder.class);
+
+        assertThat(holder.x).isInstanceOf(RawJson.class);
+        JsonNode tree = ((RawJson) holder.x).asTree();
+        assertThat(tree.get("b").get(1).asText()).isEqualTo("\u00e9");
+        assertThat(tree.get("a").decimalValue()).isEqualByComparingTo(new BigDecimal("10.25"));
+    }
+
+    @Test
+    void writesStringsThroughTheUtf8Slice() throws Exception {
+        ObjectMapper mapper = mapper(new ObjectMapper());
+
+        String out = mapper.writeValueAsString(Collections.singletonMap("x", RawJson.of("\"q\\\"uote\"")));
+
+        assertThat(mapper.readTree(out).get("x").asText()).isEqualTo("q\"uote");
+        assertThat(new String(RawJson.of("\"\u00e9\"").getBytes(), StandardCharsets.UTF_8)).isEqualTo("\"\u00e9\"");
+    }
+
+    @Test
+    void slicesValuesFromByteArrayInputAsSent() throws Exception {
+        ObjectMapper mapper = mapper(new ObjectMapper());
+        String value = "{ \"a\" : 10.00, \"s\": \"}]\\\"{\", \"b\": [ {}, [] ] }";
+
+        Pair pair = mapper.readValue(("{\"x\":" + value + ",\"y\":\"after\"}").getBytes(StandardCharsets.UTF_8),
+                Pair.class);
+
+        assertThat(new String(((RawJson) pair.x).getBytes(), StandardCharsets.UTF_8)).isEqualTo(value);
+        assertThat(pair.y).isEqualTo("after");
+    }
+
+    @Test
+    void slicesValuesBufferedFromStreamInputAndCopiesTokensOtherwise() throws Exception {
+        ObjectMapper mapper = mapper(new ObjectMapper());
+        StringBuilder large = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            large.append(i == 0 ? "" : ", ").append(i).append(".50");
+        }
+        String largeValue = large.append(']').toString();
+
+        String smallValue = "{ \"a\" : 10.00 }";
+        Pair small = mapper.readValue(new ByteArrayInputStream(("{\"x\":" + smallValue + ",\"y\":\"after\"}")
+                .getBytes(StandardCharsets.UTF_8)), Pair.class);
+        Pair spanning = mapper.readValue(new ByteArrayInputStream(("{\"x\":" + largeValue + ",\"y\":\"after\"}")
+                .getBytes(StandardCharsets.UTF_8)), Pair.class);
+
+        assertThat(new String(((RawJson) small.x).getBytes(), StandardCharsets.UTF_8)).isEqualTo(smallValue);
+        assertThat(new String(((RawJson) spanning.x).getBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(largeValue.replace(" ", ""));
+        assertThat(spanning.y).isEqualTo("after");
+    }
+
+    private static void assertRoundTrip(ObjectMapper mapper) throws Exception {
+        Map<String, RawJson> value = Collections.singletonMap("x", RawJson.of(JSON));
+
+        JsonNode tree = mapper.readTree(mapper.writeValueAsBytes(value)).get("x");
+
+        assertThat(tree.get("a").isNumber()).isTrue();
+        assertThat(tree.get("a").decimalValue()).isEqualByComparingTo(new BigDecimal("10.25"));
+        assertThat(tree.get("b").get(0).intValue()).isEqualTo(1);
+        assertThat(tree.get("b").get(1).asText()).isEqualTo("\u00e9");
+        assertThat(tree.get("b").get(2).isNull()).isTrue();
+        assertThat(tree.get("b").get(3).booleanValue()).isTrue();
+    }
+
+    private static ObjectMapper mapper(ObjectMapper mapper) {
+        return mapper.registerModule(new RawJsonModule(Collections.singleton("x")));
+    }
+
+    static class Holder {
+        public Object x;
+    }
+
+    static class Pair {
+        public Object x;
+        public String y;
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHeadersTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void findsWellKnownAndOtherNamesIgnoringCase() {
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("X-Request-ID", "r");
+        map.put("x-custom", "c");
+        RequestHeaders headers = RequestHeaders.of(map);
+
+        assertThat(headers.get(RequestHeaders.X_REQUEST_ID)).isEqualTo("r");
+        assertThat(headers.get("X-REQUEST-ID")).isEqualTo("r");
+        assertThat(headers.get("X-Custom")).isEqualTo("c");
+        assertThat(headers.get("x-fapi-financial-id")).isNull();
+        assertThat(headers.getName(0)).isEqualTo("X-Request-ID");
+    }
+
+    @Test
+    void laterEntriesReplaceEarlierOnesDifferingInCase() throws Exception {
+        RequestHeaders headers = mapper.readValue("{\"accept\":\"a\",\"x-custom\":\"1\",\"ACCEPT\":\"b\",\"X-Custom\":\"2\"}",
+                RequestHeaders.class);
+
+        assertThat(headers.size()).isEqualTo(2);
+        assertThat(headers.get("Accept")).isEqualTo("b");
+        assertThat(headers.get("x-custom")).isEqualTo("2");
+    }
+
+    @Test
+    void findsWellKnownNamesAfterMoreThan127Headers() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < 300; i++) {
+            map.put("x-header-" + i, Integer.toString(i));
+        }
+        map.put("x-request-id", "r");
+        RequestHeaders headers = RequestHeaders.of(map);
+
+        assertThat(headers.size()).isEqualTo(301);
+        assertThat(headers.get("X-Request-Id")).isEqualTo("r");
+        assertThat(headers.get("x-header-200")).isEqualTo("200");
+    }
+
+    @Test
+    void readsArraysAndTheStringForm() throws Exception {
+        RequestHeaders headers = mapper.readValue("\"{\\\"accept\\\":[\\\"a\\\",\\\"b\\\"],\\\"host\\\":null}\"",
+                RequestHeaders.class);
+
+        assertThat(headers.get("accept")).isEqualTo("a, b");
+        assertThat(headers.contains("host")).isTrue();
+        assertThat(headers.get("host")).isNull();
+        assertThat(mapper.readValue("\"  \"", RequestHeaders.class).isEmpty()).isTrue();
+    }
+
+    @Test
+    void readsTheStringFormFromCbor() throws Exception {
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+        byte[] value = cbor.writeValueAsBytes("{\"x-request-id\":\"r\"}");
+
+        RequestHeaders headers = cbor.readValue(value, RequestHeaders.class);
+
+        assertThat(headers.get("X-Request-Id")).isEqualTo("r");
+    }
+
+    @Test
+    void writesTheHeadersInTheOrderTheyWereReceived() throws Exception {
+        RequestHeaders headers = RequestHeaders.of(Collections.singletonMap("Host", "h"));
+
+        assertThat(mapper.writeValueAsString(headers)).isEqualTo("{\"Host\":\"h\"}");
+        assertThat(mapper.readValue(mapper.writeValueAsString(headers), RequestHeaders.class)).isEqualTo(headers);
+    }
+
+}
@@ -0,0 +1,115 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Rfc3339} and {@link Rfc3339Module} against a {@link StdDateFormat} cloned per call, which
+ * is what the shared {@code RFC3339DateFormat} should have done, on four threads. Each thread
+ * walks its own set of instants from the last few years, one per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class Rfc3339Benchmark {
+
+    private static final int INSTANTS = 1024;
+
+    private final StdDateFormat stdDateFormat = new StdDateFormat().withColonInTimeZone(true);
+    private final Date[] dates = new Date[INSTANTS];
+    private final String[] texts = new String[INSTANTS];
+    private final byte[][] json = new byte[INSTANTS][];
+    private ObjectWriter stdWriter;
+    private ObjectWriter moduleWriter;
+    private ObjectReader stdReader;
+    private ObjectReader moduleReader;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper std = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .setDateFormat(stdDateFormat);
+        ObjectMapper module = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .registerModule(new Rfc3339Module());
+        stdWriter = std.writerFor(Date.class);
+        moduleWriter = module.writerFor(Date.class);
+        stdReader = std.readerFor(Date.class);
+        moduleReader = module.readerFor(Date.class);
+        Random random = new Random(Thread.currentThread().getId());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < INSTANTS; i++) {
+            dates[i] = new Date(now - (long) (random.nextDouble() * 5 * 365 * 86_400_000L));
+            texts[i] = Rfc3339.format(dates[i].getTime());
+            json[i] = moduleWriter.writeValueAsBytes(dates[i]);
+        }
+    }
+
+    private int next() {
+        return next = (next + 1) & (INSTANTS - 1);
+    }
+
+    @Benchmark
+    public String formatStdDateFormat() {
+        return stdDateFormat.clone().format(dates[next()]);
+    }
+
+    @Benchmark
+    public String formatRfc3339() {
+        return Rfc3339.format(dates[next()].getTime());
+    }
+
+    @Benchmark
+    public Date parseStdDateFormat() throws ParseException {
+        return stdDateFormat.clone().parse(texts[next()]);
+    }
+
+    @Benchmark
+    public long parseRfc3339() {
+        return Rfc3339.parseMillis(texts[next()]);
+    }
+
+    @Benchmark
+    public byte[] writeStdDateFormat() throws IOException {
+        return stdWriter.writeValueAsBytes(dates[next()]);
+    }
+
+    @Benchmark
+    public byte[] writeModule() throws IOException {
+        return moduleWriter.writeValueAsBytes(dates[next()]);
+    }
+
+    @Benchmark
+    public Date readStdDateFormat() throws IOException {
+        return stdReader.readValue(json[next()]);
+    }
+
+    @Benchmark
+    public Date readModule() throws IOException {
+        return moduleReader.readValue(json[next()]);
+    }
+
+}
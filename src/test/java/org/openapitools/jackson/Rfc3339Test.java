@@ -0,0 +1,135 @@
+package org.openapitools.jackson;
+
+import com.fasterxml.jackson.databind.util.StdDateFormat;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Rfc3339Test {
+
+    private static final int[] POWERS = {1, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+    @Test
+    void formatsLikeStdDateFormat() {
+        StdDateFormat reference = new StdDateFormat().withColonInTimeZone(true);
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            // from 1583 on, where StdDateFormat's calendar is Gregorian too
+            long millis = -12_212_553_600_000L + (long) (random.nextDouble() * 265_614_854_399_999L);
+            assertThat(Rfc3339.format(millis)).as("%d", millis).isEqualTo(reference.format(new Date(millis)));
+        }
+        assertThat(Rfc3339.format(0)).isEqualTo("1970-01-01T00:00:00.000+00:00");
+        assertThat(Rfc3339.format(-1)).isEqualTo("1969-12-31T23:59:59.999+00:00");
+        assertThat(Rfc3339.formatEpochSecond(1_706_696_130)).isEqualTo("2024-01-31T10:15:30.000+00:00");
+    }
+
+    @Test
+    void writesIntoBuffersAndLeavesOtherYearsToTheFallback() {
+        byte[] buffer = new byte[Rfc3339.LENGTH + 2];
+
+        assertThat(Rfc3339.format(1_706_696_130_123L, buffer, 2)).isEqualTo(Rfc3339.LENGTH);
+        assertThat(new String(buffer, 2, Rfc3339.LENGTH)).isEqualTo("2024-01-31T10:15:30.123+00:00");
+        assertThat(Rfc3339.format(253_402_300_800_000L, buffer, 0)).isEqualTo(-1);
+        assertThat(Rfc3339.format(253_402_300_800_000L)).isEqualTo("+10000-01-01T00:00:00.000+00:00");
+    }
+
+    @Test
+    void parsesTheVariantsStdDateFormatAccepted() {
+        long expected = 1_706_696_130_000L;
+
+        assertThat(Rfc3339.parseMillis("2024-01-31T10:15:30.000+00:00")).isEqualTo(expected);
+        assertThat(Rfc3339.parseMillis("2024-01-31T10:15:30Z")).isEqualTo(expected);
+        assertThat(Rfc3339.parseMillis("2024-01-31t10:15:30z")).isEqualTo(expected);
+        assertThat(Rfc3339.parseMillis("2024-01-31T12:15:30+0200")).isEqualTo(expected);
+        assertThat(Rfc3339.parseMillis("2024-01-31T05:15:30.000-05:00")).isEqualTo(expected);
+        assertThat(Rfc3339.parseMillis("2024-01-31T10:15:30")).isEqualTo(expected);
+        assertThat(Rfc3339.parseMillis("2024-01-31")).isEqualTo(1_706_659_200_000L);
+        assertThat(Rfc3339.parseMillis(Long.toString(expected))).isEqualTo(expected);
+        assertThat(Rfc3339.parseMillis("-1000")).isEqualTo(-1000);
+        assertThat(Rfc3339.parseEpochSecond("1969-12-31T23:59:59.500Z")).isEqualTo(-1);
+    }
+
+    @Test
+    void parsesFractionsAndOffsetsLikeJavaTime() {
+        DateTimeFormatter seconds = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds((random.nextInt(145) - 72) * 15 * 60);
+            int fractionDigits = random.nextInt(10);
+            int nanos = fractionDigits == 0 ? 0 : random.nextInt(1_000_000_000) / POWERS[fractionDigits] * POWERS[fractionDigits];
+            OffsetDateTime time = Instant.ofEpochSecond(random.nextInt(), nanos).atOffset(offset);
+            String fraction = fractionDigits == 0 ? "" : "." + String.format("%09d", nanos).substring(0, fractionDigits);
+            String zone = offset.getTotalSeconds() == 0 ? "Z" : offset.getId();
+            if (random.nextBoolean()) {
+                zone = offset.getTotalSeconds() == 0 ? "+00:00" : zone.replace(":", "");
+            }
+            String text = time.format(seconds) + fraction + zone;
+
+            assertThat(Rfc3339.parseMillis(text)).as(text).isEqualTo(time.toInstant().toEpochMilli());
+        }
+        assertThat(Rfc3339.parseMillis("2024-02-29T00:00:00Z")).isEqualTo(1_709_164_800_000L);
+        assertThat(Rfc3339.parseMillis("2024-01-31T10:15:30.5Z")).isEqualTo(1_706_696_130_500L);
+    }
+
+    @Test
+    void leavesOtherValuesToTheLenientParser() {
+        assertThat(Rfc3339.parseMillis("2023-02-29T00:00:00Z")).isEqualTo(Rfc3339.parseMillis("2023-02-28T00:00:00Z"));
+        assertThat(Rfc3339.parseMillis("2024-01-31T24:00:00Z")).isEqualTo(Rfc3339.parseMillis("2024-02-01T00:00:00Z"));
+        assertThat(Rfc3339.parseMillis("2024-01-31T10:15:30.Z")).isEqualTo(1_706_696_130_000L);
+        assertThat(Rfc3339.parseMillis("2024-01-31T10:15Z")).isEqualTo(1_706_696_100_000L);
+        for (String text : new String[] {"2024-13-01T00:00:00Z", "2024-01-31T10:60:00Z", "2024-01-31T10:15:60Z",
+                "2024-01-31T10:15:30+19:00", "2024-01-31T10:15:30+02", "2024-01-31T10:15:30.1234567890Z",
+                "2024-01-31T10:15:30Zulu"}) {
+            assertThatThrownBy(() -> Rfc3339.parseMillis(text)).as(text).isInstanceOf(DateTimeException.class);
+        }
+    }
+
+    @Test
+    void rejectsText() {
+        assertThatThrownBy(() -> Rfc3339.parseMillis("yesterday")).isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> Rfc3339.parseMillis("")).isInstanceOf(DateTimeException.class);
+        assertThatThrownBy(() -> Rfc3339.parseMillis("-")).isInstanceOf(DateTimeException.class);
+    }
+
+    @Test
+    void formatsConsistentlyAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long seed = t;
+                results.add(executor.submit(() -> {
+                    StdDateFormat reference = new StdDateFormat().withColonInTimeZone(true);
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 20_000; i++) {
+                        long millis = 1_700_000_000_000L + random.nextInt(5_000);
+                        if (!Rfc3339.format(millis).equals(reference.format(new Date(millis)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package org.openapitools.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrimitivePropertiesTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void writesAnExplicitZero() throws Exception {
+        Response200ForErrorMapper response = mapper.readValue("{\"responseId\":\"r\",\"errorCode\":0}",
+                Response200ForErrorMapper.class);
+
+        JsonNode written = mapper.valueToTree(response);
+
+        assertThat(written.has("errorCode")).isTrue();
+        assertThat(written.get("errorCode").intValue()).isZero();
+    }
+
+    @Test
+    void writesOptionalCountsAndTimesOfAConsent() throws Exception {
+        StoredDetailedConsentResourceData resource = mapper.readValue(
+                "{\"id\":\"c\",\"frequency\":0,\"validityTime\":0}", StoredDetailedConsentResourceData.class);
+
+        JsonNode written = mapper.valueToTree(resource);
+
+        assertThat(written.get("frequency").intValue()).isZero();
+        assertThat(written.get("validityTime").longValue()).isZero();
+    }
+
+}
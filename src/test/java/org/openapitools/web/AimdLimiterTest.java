@@ -0,0 +1,100 @@
+package org.openapitools.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void rejectsCallsOverTheLimit() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5, THRESHOLD);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+
+        limiter.release(0, false);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsByOneOverTheLimitPerCallWhileFullyUsed() {
+        AimdLimiter limiter = new AimdLimiter(4, 1, 10, 0.5, THRESHOLD);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limiter.release(0, false);
+            limiter.tryAcquire();
+        }
+
+        // 4 + 1/4 + 1/4.25 + ... reaches about sqrt(4^2 + 2 * 20)
+        assertThat(limiter.getLimit()).isEqualTo(7);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+        AimdLimiter limiter = new AimdLimiter(4, 1, 10, 0.5, THRESHOLD);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(0, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void neverGrowsBeyondTheMaximum() {
+        AimdLimiter limiter = new AimdLimiter(4, 1, 5, 0.5, THRESHOLD);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(0, false);
+            limiter.release(0, false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void backsOffOnFailuresAndSlowCallsOncePerRoundTrip() throws InterruptedException {
+        AimdLimiter limiter = new AimdLimiter(16, 2, 20, 0.5, THRESHOLD);
+        Thread.sleep(1);
+
+        limiter.tryAcquire();
+        limiter.release(0, true);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        // started before the decrease, so it ran under the old limit
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.SECONDS.toNanos(10), false);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        Thread.sleep(150);
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD + 1, false);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void neverBacksOffBelowTheMinimum() throws InterruptedException {
+        AimdLimiter limiter = new AimdLimiter(3, 2, 20, 0.5, THRESHOLD);
+        Thread.sleep(1);
+
+        limiter.tryAcquire();
+        limiter.release(0, true);
+
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+}
@@ -0,0 +1,66 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.api.Deadline;
+import org.openapitools.api.ExtensionOperation;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadFilterTest {
+
+    private static final ExtensionOperation OPERATION = ExtensionOperation.values()[0];
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void detachDeadline() {
+        Deadline.attach(null);
+    }
+
+    @Test
+    void answersAPassedDeadlineWith504WithoutEntering() throws Exception {
+        BulkheadFilter filter = filter(1);
+        Deadline.attach(Deadline.after(0, TimeUnit.MILLISECONDS));
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilterOperation(OPERATION, new MockHttpServletRequest(), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(504);
+        assertThat(response.getContentAsString()).contains("deadline_exceeded");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(registry.get("extension.bulkhead.rejections").counters()).allSatisfy(
+                rejections -> assertThat(rejections.count()).isZero());
+    }
+
+    @Test
+    void answersADeadlinePassedWhileWaitingWith504AndAFullCompartmentWith503() throws Exception {
+        BulkheadFilter filter = filter(0);
+        MockHttpServletResponse busy = new MockHttpServletResponse();
+        filter.doFilterOperation(OPERATION, new MockHttpServletRequest(), busy, new MockFilterChain());
+
+        Deadline.attach(Deadline.after(20, TimeUnit.MILLISECONDS));
+        MockHttpServletResponse late = new MockHttpServletResponse();
+        filter.doFilterOperation(OPERATION, new MockHttpServletRequest(), late, new MockFilterChain());
+
+        assertThat(busy.getStatus()).isEqualTo(503);
+        assertThat(busy.getContentAsString()).contains("server_busy");
+        assertThat(late.getStatus()).isEqualTo(504);
+    }
+
+    private BulkheadFilter filter(int maxConcurrent) throws Exception {
+        return new BulkheadFilter("/base", maxConcurrent, 10, Duration.ofMillis(200), new MockEnvironment(),
+                new ObjectMapper(), registry);
+    }
+
+}
@@ -0,0 +1,91 @@
+package org.openapitools.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    private static final long LONG_WAIT = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void admitsUpToMaxConcurrentCalls() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", 2, 0, LONG_WAIT);
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isTrue();
+        assertThat(bulkhead.tryEnter()).isFalse();
+        assertThat(bulkhead.getActive()).isEqualTo(2);
+
+        bulkhead.exit();
+
+        assertThat(bulkhead.tryEnter()).isTrue();
+    }
+
+    @Test
+    void handsAReleasedSlotToAWaitingCaller() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, LONG_WAIT);
+        bulkhead.tryEnter();
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> enter(bulkhead, LONG_WAIT));
+        awaitWaiting(bulkhead, 1);
+        bulkhead.exit();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bulkhead.getWaiting()).isZero();
+        assertThat(bulkhead.getActive()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsCallersBeyondTheQueueBoundRightAway() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, LONG_WAIT);
+        bulkhead.tryEnter();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> enter(bulkhead, LONG_WAIT));
+        awaitWaiting(bulkhead, 1);
+
+        long start = System.nanoTime();
+        assertThat(bulkhead.tryEnter()).isFalse();
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(bulkhead.getWaiting()).isEqualTo(1);
+        bulkhead.exit();
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void givesUpAfterTheSmallerOfMaxWaitAndTheGivenTime() throws InterruptedException {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, TimeUnit.MILLISECONDS.toNanos(50));
+        bulkhead.tryEnter();
+
+        long start = System.nanoTime();
+        assertThat(bulkhead.tryEnter(LONG_WAIT)).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+
+        start = System.nanoTime();
+        assertThat(bulkhead.tryEnter(TimeUnit.MILLISECONDS.toNanos(10))).isFalse();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.MILLISECONDS.toNanos(50));
+
+        assertThat(bulkhead.tryEnter(0)).isFalse();
+        assertThat(bulkhead.getWaiting()).isZero();
+    }
+
+    private static boolean enter(Bulkhead bulkhead, long maxWaitNanos) {
+        try {
+            return bulkhead.tryEnter(maxWaitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitWaiting(Bulkhead bulkhead, int waiting) throws InterruptedException {
+        for (int i = 0; i < 500 && bulkhead.getWaiting() < waiting; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(bulkhead.getWaiting()).isEqualTo(waiting);
+    }
+
+}
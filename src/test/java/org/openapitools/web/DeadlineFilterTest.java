@@ -0,0 +1,121 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.api.Deadline;
+import org.openapitools.api.ExtensionOperation;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeadlineFilterTest {
+
+    private static final ExtensionOperation OPERATION = ExtensionOperation.values()[0];
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private DeadlineFilter filter;
+
+    @AfterEach
+    void shutdown() {
+        Thread.interrupted();
+        if (filter != null) {
+            filter.shutdown();
+        }
+    }
+
+    @Test
+    void answersASpentBudgetWith504WithoutRunningTheHandler() throws Exception {
+        filter = filter(false);
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilterOperation(OPERATION, request("0"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(504);
+        assertThat(response.getContentAsString()).contains("deadline_exceeded");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(abandoned("entry")).isEqualTo(1);
+    }
+
+    @Test
+    void attachesTheDeadlineOnlyWhileTheHandlerRuns() throws Exception {
+        filter = filter(false);
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+
+        filter.doFilterOperation(OPERATION, request("5000"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(Deadline.current()));
+
+        assertThat(seen.get()).isNotNull();
+        assertThat(seen.get().isExpired()).isFalse();
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    void interruptsABlockedHandlerAndClearsTheInterruptAfterwards() throws Exception {
+        filter = filter(true);
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        filter.doFilterOperation(OPERATION, request("50"), new MockHttpServletResponse(), (req, res) -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+
+        assertThat(interrupted).isTrue();
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(abandoned("handler")).isEqualTo(1);
+    }
+
+    @Test
+    void clearsAnInterruptTheHandlerIgnored() throws Exception {
+        filter = filter(true);
+
+        filter.doFilterOperation(OPERATION, request("20"), new MockHttpServletResponse(), (req, res) -> {
+            while (!Deadline.current().isCancelled()) {
+                Thread.yield();
+            }
+        });
+
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(abandoned("handler")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotInterruptAHandlerThatFinishedInTime() throws Exception {
+        filter = filter(true);
+
+        filter.doFilterOperation(OPERATION, request("30"), new MockHttpServletResponse(), new MockFilterChain());
+        Thread.sleep(100);
+
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(abandoned("handler")).isZero();
+        assertThat(abandoned("completed")).isZero();
+    }
+
+    private MockHttpServletRequest request(String timeoutMillis) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Request-Timeout", timeoutMillis);
+        return request;
+    }
+
+    private double abandoned(String stage) {
+        return registry.get("extension.deadline.abandoned")
+                .tag("operation", OPERATION.getOperationId()).tag("stage", stage).counter().count();
+    }
+
+    private DeadlineFilter filter(boolean interrupt) throws Exception {
+        return new DeadlineFilter("/base", "X-Request-Timeout", interrupt, new MockEnvironment(),
+                new ObjectMapper(), registry);
+    }
+
+}
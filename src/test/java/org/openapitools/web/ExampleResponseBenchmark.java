@@ -0,0 +1,141 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openapitools.api.ExampleResponses;
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.OpenApiSpec;
+import org.openapitools.api.ValidateConsentAccessApi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of writing the validate-consent-access example through {@link ExampleResponseFilter}
+ * against the generated default handler, which goes through {@code ApiUtil.setExampleResponse}.
+ * Both write into a fresh {@link SinkResponse}, so the numbers exclude the container.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExampleResponseBenchmark {
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockFilterChain chain = new MockFilterChain();
+    private ExampleResponseFilter filter;
+
+    @Setup
+    public void setUp() {
+        request.addHeader("Accept", "application/json");
+        filter = new ExampleResponseFilter("/base", new String[] {"*"},
+                new ExampleResponses(new OpenApiSpec(), new ObjectMapper()));
+    }
+
+    @Benchmark
+    public SinkResponse generatedHandler() throws Exception {
+        SinkResponse response = new SinkResponse();
+        NativeWebRequest webRequest = new ServletWebRequest(request, response);
+        ValidateConsentAccessApi api = new ValidateConsentAccessApi() {
+            @Override
+            public Optional<NativeWebRequest> getRequest() {
+                return Optional.of(webRequest);
+            }
+        };
+        api.validateConsentAccessPost(null);
+        response.flushBuffer();
+        return response;
+    }
+
+    @Benchmark
+    public SinkResponse preEncodedExample() throws Exception {
+        SinkResponse response = new SinkResponse();
+        filter.doFilterOperation(ExtensionOperation.VALIDATE_CONSENT_ACCESS, request, response, chain);
+        response.flushBuffer();
+        return response;
+    }
+
+    /**
+     * Keeps the mock's header handling but writes the body in bulk, as the container does:
+     * {@link MockHttpServletResponse}'s own stream flushes after every byte.
+     */
+    public static final class SinkResponse extends MockHttpServletResponse {
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+        };
+        private PrintWriter writer;
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+
+        @Override
+        public byte[] getContentAsByteArray() {
+            return body.toByteArray();
+        }
+
+        /**
+         * Encodes whatever the writer still holds, as the container does when the call completes.
+         */
+        @Override
+        public void flushBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+            super.flushBuffer();
+        }
+
+    }
+
+}
@@ -0,0 +1,158 @@
+package org.openapitools.web;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileContentExtractorTest {
+
+    private static final String[] PATH = {"data", "fileContent"};
+
+    @TempDir
+    Path spoolDirectory;
+
+    @Test
+    void spoolsTheTargetValueAndKeepsTheRestOfTheBody() throws Exception {
+        FileContentExtractor extractor = extractor("{\"requestId\":\"r\",\"data\":{\"fileContent\":\"hello\",\"x\":[1,true]}}");
+
+        byte[] body = extractor.extract();
+
+        assertThat(new String(body, StandardCharsets.UTF_8))
+                .isEqualTo("{\"requestId\":\"r\",\"data\":{\"fileContent\":\"\",\"x\":[1,true]}}");
+        assertThat(spooled(extractor)).isEqualTo("hello");
+        assertThat(extractor.getSpoolSize()).isEqualTo(5);
+        assertThat(extractor.getSpoolDigest()).isEqualTo(sha256Hex("hello"));
+    }
+
+    @Test
+    void leavesBodiesWithoutTheTargetValueUnchanged() throws Exception {
+        String json = "{\"data\":{\"other\":\"fileContent\"},\"fileContent\":\"top level\"}";
+        FileContentExtractor extractor = extractor(json);
+
+        assertThat(new String(extractor.extract(), StandardCharsets.UTF_8)).isEqualTo(json);
+        assertThat(extractor.getSpoolFile()).isNull();
+    }
+
+    @Test
+    void unescapesSimpleEscapes() throws Exception {
+        FileContentExtractor extractor = extractor("{\"data\":{\"fileContent\":\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\"}}");
+
+        extractor.extract();
+
+        assertThat(spooled(extractor)).isEqualTo("a\"b\\c/d\b\f\n\r\t");
+    }
+
+    @Test
+    void unescapesUnicodeEscapesAndSurrogatePairs() throws Exception {
+        FileContentExtractor extractor = extractor("{\"data\":{\"fileContent\":\"\\u00e9\\u20ac\\ud83d\\ude00\"}}");
+
+        extractor.extract();
+
+        assertThat(spooled(extractor)).isEqualTo("\u00e9\u20ac\ud83d\ude00");
+        assertThat(extractor.getSpoolSize()).isEqualTo(2 + 3 + 4);
+    }
+
+    @Test
+    void rejectsUnpairedHighSurrogate() {
+        assertMalformed("{\"data\":{\"fileContent\":\"\\ud83dx\"}}");
+        assertMalformed("{\"data\":{\"fileContent\":\"\\ud83d\\u0041\"}}");
+    }
+
+    @Test
+    void rejectsLoneLowSurrogate() {
+        assertMalformed("{\"data\":{\"fileContent\":\"\\ude00\"}}");
+    }
+
+    @Test
+    void rejectsInvalidEscapesAndControlCharacters() {
+        assertMalformed("{\"data\":{\"fileContent\":\"\\x\"}}");
+        assertMalformed("{\"data\":{\"fileContent\":\"\\u12g4\"}}");
+        assertMalformed("{\"data\":{\"fileContent\":\"a\nb\"}}");
+    }
+
+    @Test
+    void rejectsMalformedStructure() {
+        assertMalformed("{\"data\":{\"fileContent\":\"unterminated");
+        assertMalformed("{\"data\" {}}");
+        assertMalformed("{\"data\":{}} trailing");
+        assertMalformed("{\"data\":{\"fileContent\":\"a\",\"fileContent\":\"b\"}}");
+    }
+
+    @Test
+    void rejectsContentOverTheMaximumSizeAndDeletesTheSpoolFile() throws IOException {
+        FileContentExtractor extractor = new FileContentExtractor(input("{\"data\":{\"fileContent\":\"123456\"}}"),
+                PATH, spoolDirectory, 5, 1024);
+
+        assertThatThrownBy(extractor::extract).isInstanceOf(FileContentExtractor.FileContentTooLargeException.class);
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void rejectsRemainingBodyOverTheMaximumBodySize() throws IOException {
+        StringBuilder json = new StringBuilder("{\"data\":{\"fileContent\":\"small\"},\"padding\":\"");
+        for (int i = 0; i < 100; i++) {
+            json.append("0123456789");
+        }
+        json.append("\"}");
+        FileContentExtractor extractor = new FileContentExtractor(input(json.toString()), PATH, spoolDirectory,
+                1024, 512);
+
+        assertThatThrownBy(extractor::extract).isInstanceOf(FileContentExtractor.BodyTooLargeException.class);
+        assertThat(spoolFiles()).isZero();
+    }
+
+    @Test
+    void handlesValuesSpanningManyBuffers() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append("chunk-").append(i).append(' ');
+        }
+        FileContentExtractor extractor = extractor("{\"data\":{\"fileContent\":\"" + content + "\"}}");
+
+        extractor.extract();
+
+        assertThat(spooled(extractor)).isEqualTo(content.toString());
+    }
+
+    private FileContentExtractor extractor(String json) {
+        return new FileContentExtractor(input(json), PATH, spoolDirectory, 1 << 20, 1 << 20);
+    }
+
+    private void assertMalformed(String json) {
+        assertThatThrownBy(() -> extractor(json).extract())
+                .isInstanceOf(FileContentExtractor.MalformedBodyException.class);
+    }
+
+    private static ByteArrayInputStream input(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String spooled(FileContentExtractor extractor) throws IOException {
+        return new String(Files.readAllBytes(extractor.getSpoolFile()), StandardCharsets.UTF_8);
+    }
+
+    private long spoolFiles() throws IOException {
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            return files.count();
+        }
+    }
+
+    private static String sha256Hex(String value) throws Exception {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8))) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+}
@@ -0,0 +1,129 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openapitools.model.PreProcessFileUploadRequestBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four concurrent pre-process-consent-file-upload bodies, spooled by {@link FileContentExtractor}
+ * against binding them with Jackson. The bodies are generated while they are read, so the heap
+ * holds only what the reader keeps. {@code -prof gc} shows the allocation per upload; running
+ * with a small heap, e.g. {@code -Djmh.args="-jvmArgsAppend -Xmx96m"}, shows which of the two
+ * stays bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class FileUploadBenchmark {
+
+    private static final String[] FILE_CONTENT_PATH = {"data", "fileContent"};
+
+    @Param({"1", "32"})
+    public int fileMegabytes;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Path spoolDirectory;
+
+    @Setup
+    public void setUp() throws IOException {
+        spoolDirectory = Files.createTempDirectory("upload-benchmark");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(spoolDirectory);
+    }
+
+    @Benchmark
+    public long streamed() throws IOException {
+        FileContentExtractor extractor = new FileContentExtractor(body(), FILE_CONTENT_PATH, spoolDirectory,
+                Long.MAX_VALUE, 1 << 20);
+        try {
+            extractor.extract();
+            return extractor.getSpoolSize();
+        } finally {
+            extractor.deleteSpoolFile();
+        }
+    }
+
+    @Benchmark
+    public long bound() throws IOException {
+        PreProcessFileUploadRequestBody body = mapper.readValue(body(), PreProcessFileUploadRequestBody.class);
+        return body.getData().getFileContent().length();
+    }
+
+    private InputStream body() {
+        return new UploadBody(fileMegabytes << 20);
+    }
+
+    /**
+     * A JSON upload body whose base64-like file content is produced as it is read.
+     */
+    private static final class UploadBody extends InputStream {
+
+        private static final byte[] HEAD = ("{\"requestId\":\"Ec1wMjmiG8\",\"data\":{\"consentId\":\"c1\","
+                + "\"fileContent\":\"").getBytes(StandardCharsets.UTF_8);
+        private static final byte[] TAIL = "\"}}".getBytes(StandardCharsets.UTF_8);
+
+        private final long contentEnd;
+        private final long end;
+        private long position;
+
+        UploadBody(long contentLength) {
+            this.contentEnd = HEAD.length + contentLength;
+            this.end = contentEnd + TAIL.length;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0];
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= end) {
+                return -1;
+            }
+            int n;
+            if (position < HEAD.length) {
+                n = (int) Math.min(len, HEAD.length - position);
+                System.arraycopy(HEAD, (int) position, b, off, n);
+            } else if (position < contentEnd) {
+                n = (int) Math.min(len, contentEnd - position);
+                Arrays.fill(b, off, off + n, (byte) 'Q');
+            } else {
+                n = (int) Math.min(len, end - position);
+                System.arraycopy(TAIL, (int) (position - contentEnd), b, off, n);
+            }
+            position += n;
+            return n;
+        }
+
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.openapitools.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compressing synthetic {@code BULK_SEARCH} results (consent records with receipts and
+ * authorization resources) through {@link GzipHttpServletResponse} with a pooled deflater,
+ * against a new {@link GZIPOutputStream} per response. The raw and compressed sizes of each
+ * payload are printed when the fork starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class GzipBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int consents;
+
+    @Param({"1", "6", "9"})
+    public int level;
+
+    private final ZlibPool pool = new ZlibPool(4, new SimpleMeterRegistry());
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = bulkSearchResult(consents);
+        long compressed = pooled().length;
+        System.out.printf("%d consents: %d bytes, level %d: %d bytes (%.1f%%)%n",
+                consents, payload.length, level, compressed, 100.0 * compressed / payload.length);
+    }
+
+    @Benchmark
+    public byte[] pooled() throws IOException {
+        ExampleResponseBenchmark.SinkResponse target = new ExampleResponseBenchmark.SinkResponse();
+        GzipHttpServletResponse response = new GzipHttpServletResponse(target, pool, 2048, level);
+        try {
+            response.getOutputStream().write(payload);
+            response.finish();
+        } finally {
+            response.release();
+        }
+        return target.getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] newGzipOutputStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            gzip.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] bulkSearchResult(int consents) {
+        Random random = new Random(1);
+        StringBuilder json = new StringBuilder("{\"requestId\":\"Ec1wMjmiG8\",\"data\":{\"searchType\":\"BULK_SEARCH\","
+                + "\"searchResult\":{\"consents\":[");
+        for (int i = 0; i < consents; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"consentId\":\"").append(UUID.nameUUIDFromBytes(("c" + i).getBytes(StandardCharsets.UTF_8)))
+                    .append("\",\"clientId\":\"client-").append(random.nextInt(50))
+                    .append("\",\"consentType\":\"accounts\",\"currentStatus\":\"")
+                    .append(random.nextBoolean() ? "authorised" : "revoked")
+                    .append("\",\"createdTime\":").append(1_700_000_000L + random.nextInt(1_000_000))
+                    .append(",\"updatedTime\":").append(1_700_000_000L + random.nextInt(1_000_000))
+                    .append(",\"validityPeriod\":").append(random.nextInt(1_000_000))
+                    .append(",\"receipt\":{\"Data\":{\"Permissions\":[\"ReadAccountsDetail\",\"ReadBalances\","
+                            + "\"ReadTransactionsCredits\"],\"ExpirationDateTime\":\"2026-0").append(1 + random.nextInt(9))
+                    .append("-01T00:00:00+00:00\"}},\"authorizationResources\":[{\"authorizationId\":\"")
+                    .append(UUID.nameUUIDFromBytes(("a" + i).getBytes(StandardCharsets.UTF_8)))
+                    .append("\",\"userId\":\"user").append(random.nextInt(1000))
+                    .append("@carbon.super\",\"authorizationStatus\":\"created\",\"authorizationType\":\"authorisation\"}]}");
+        }
+        return json.append("]}}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
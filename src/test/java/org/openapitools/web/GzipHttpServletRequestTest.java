@@ -0,0 +1,134 @@
+package org.openapitools.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.ReadListener;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GzipHttpServletRequestTest {
+
+    private static final String BODY = "{\"requestId\":\"r\",\"data\":{\"consentId\":\"c\"}}";
+
+    private final ZlibPool pool = new ZlibPool(4, new SimpleMeterRegistry());
+
+    @Test
+    void inflatesTheBodyAndHidesTheEncodingHeaders() throws IOException {
+        GzipHttpServletRequest request = request(gzip(BODY), 1024);
+
+        assertThat(StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(request.getInflatedSize()).isEqualTo(BODY.length());
+        assertThat(request.getHeader("Content-Encoding")).isNull();
+        assertThat(Collections.list(request.getHeaderNames())).doesNotContain("Content-Encoding", "Content-Length");
+        assertThat(request.getContentLength()).isEqualTo(-1);
+        assertThat(request.getFailure()).isNull();
+    }
+
+    @Test
+    void rejectsBodiesThatAreNotGzip() {
+        GzipHttpServletRequest request = request(BODY.getBytes(StandardCharsets.UTF_8), 1024);
+
+        assertThatThrownBy(() -> read(request)).isInstanceOf(ZipException.class);
+        assertThat(request.getFailure()).isInstanceOf(ZipException.class);
+    }
+
+    @Test
+    void rejectsCorruptBodies() {
+        byte[] gzip = gzip(BODY);
+        for (int i = 10; i < gzip.length - 8; i++) {
+            gzip[i] ^= 0x55;
+        }
+        GzipHttpServletRequest request = request(gzip, 1024);
+
+        assertThatThrownBy(() -> read(request)).isInstanceOf(ZipException.class);
+        assertThat(request.getFailure()).isInstanceOf(ZipException.class);
+    }
+
+    @Test
+    void rejectsBodiesWithAMismatchingTrailer() {
+        byte[] gzip = gzip(BODY);
+        gzip[gzip.length - 8] ^= 1;
+        GzipHttpServletRequest request = request(gzip, 1024);
+
+        assertThatThrownBy(() -> read(request)).isInstanceOf(ZipException.class).hasMessageContaining("Corrupt");
+    }
+
+    @Test
+    void rejectsTruncatedBodies() {
+        byte[] gzip = gzip(BODY);
+        GzipHttpServletRequest request = request(Arrays.copyOf(gzip, gzip.length / 2), 1024);
+
+        assertThatThrownBy(() -> read(request)).isInstanceOf(EOFException.class);
+        assertThat(request.getFailure()).isInstanceOf(EOFException.class);
+    }
+
+    @Test
+    void rejectsBodiesInflatingPastTheMaximumSize() {
+        GzipHttpServletRequest request = request(gzip(BODY), 10);
+
+        assertThatThrownBy(() -> read(request)).isInstanceOf(GzipHttpServletRequest.InflatedSizeExceededException.class);
+        assertThat(request.getFailure()).isInstanceOf(GzipHttpServletRequest.InflatedSizeExceededException.class);
+    }
+
+    @Test
+    void notifiesReadListenersRightAway() throws IOException {
+        GzipHttpServletRequest request = request(gzip(BODY), 1024);
+        AtomicBoolean allRead = new AtomicBoolean();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        request.getInputStream().setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                StreamUtils.copy(request.getInputStream(), body);
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertThat(allRead).isTrue();
+        assertThat(new String(body.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    private GzipHttpServletRequest request(byte[] body, long maxSize) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/");
+        request.addHeader("Content-Encoding", "gzip");
+        request.setContent(body);
+        return new GzipHttpServletRequest(request, pool, maxSize);
+    }
+
+    private static void read(GzipHttpServletRequest request) throws IOException {
+        StreamUtils.copyToByteArray(request.getInputStream());
+    }
+
+    private static byte[] gzip(String value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(value.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+}
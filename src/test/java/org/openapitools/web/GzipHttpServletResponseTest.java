@@ -0,0 +1,87 @@
+package org.openapitools.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipHttpServletResponseTest {
+
+    private final ZlibPool pool = new ZlibPool(4, new SimpleMeterRegistry());
+    private final MockHttpServletResponse target = new MockHttpServletResponse();
+    private final GzipHttpServletResponse response = new GzipHttpServletResponse(target, pool, 16, 6);
+
+    @Test
+    void compressesBodiesReachingTheMinimumSize() throws IOException {
+        String body = "{\"status\":\"SUCCESS\",\"responseId\":\"0123456789\"}";
+
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        response.finish();
+        response.release();
+
+        assertThat(response.isCompressed()).isTrue();
+        assertThat(target.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gunzip(target.getContentAsByteArray())).isEqualTo(body);
+        assertThat(response.getOriginalSize()).isEqualTo(body.length());
+        assertThat(response.getCompressedSize()).isEqualTo(target.getContentAsByteArray().length);
+    }
+
+    @Test
+    void writesSmallBodiesUnencodedWithAnExactLength() throws IOException {
+        response.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        response.finish();
+        response.release();
+
+        assertThat(response.isCompressed()).isFalse();
+        assertThat(target.getHeader("Content-Encoding")).isNull();
+        assertThat(target.getContentAsString()).isEqualTo("{}");
+        assertThat(target.getContentLength()).isEqualTo(2);
+    }
+
+    @Test
+    void leavesErrorResponsesAlone() throws IOException {
+        response.sendError(500);
+        response.finish();
+        response.release();
+
+        assertThat(response.isCompressed()).isFalse();
+        assertThat(target.getStatus()).isEqualTo(500);
+        assertThat(target.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    void letsWriteListenersWriteRightAway() throws IOException {
+        String body = "{\"status\":\"SUCCESS\",\"responseId\":\"0123456789\"}";
+        ServletOutputStream out = response.getOutputStream();
+
+        out.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() throws IOException {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+        response.finish();
+        response.release();
+
+        assertThat(gunzip(target.getContentAsByteArray())).isEqualTo(body);
+    }
+
+    private static String gunzip(byte[] gzip) throws IOException {
+        return StreamUtils.copyToString(new GZIPInputStream(new ByteArrayInputStream(gzip)), StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,89 @@
+package org.openapitools.web;
+
+import org.junit.jupiter.api.Test;
+import org.openapitools.api.ExtensionOperation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotentResponseCacheTest {
+
+    private static final ExtensionOperation OPERATION = ExtensionOperation.values()[0];
+    private static final String JSON = "application/json";
+    private static final byte[] DIGEST = IdempotentResponseCache.digest("{\"requestId\":\"r1\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final AtomicLong now = new AtomicLong();
+    private final IdempotentResponseCache cache = new IdempotentResponseCache(2, TimeUnit.SECONDS.toNanos(60), now::get);
+
+    @Test
+    void collapsesConcurrentDuplicatesOntoTheOwner() throws Exception {
+        IdempotentResponseCache.Lookup owner = cache.lookup(OPERATION, "r1", JSON, DIGEST);
+        IdempotentResponseCache.Lookup duplicate = cache.lookup(OPERATION, "r1", JSON, DIGEST);
+
+        assertThat(owner.getKind()).isEqualTo(IdempotentResponseCache.Lookup.Kind.OWNER);
+        assertThat(duplicate.getKind()).isEqualTo(IdempotentResponseCache.Lookup.Kind.COLLAPSED);
+        assertThat(duplicate.getResponse()).isNotDone();
+
+        IdempotentResponseCache.CachedResponse response = response("X-Trace", "t1");
+        cache.complete(owner, response);
+
+        assertThat(duplicate.getResponse().get()).isSameAs(response);
+        IdempotentResponseCache.Lookup retry = cache.lookup(OPERATION, "r1", JSON, DIGEST);
+        assertThat(retry.getKind()).isEqualTo(IdempotentResponseCache.Lookup.Kind.HIT);
+        assertThat(retry.getResponse().get().getHeaders()).containsEntry("X-Trace", Collections.singletonList("t1"));
+    }
+
+    @Test
+    void letsDuplicatesRunOnTheirOwnWhenTheOwnerIsNotCached() throws Exception {
+        IdempotentResponseCache.Lookup owner = cache.lookup(OPERATION, "r1", JSON, DIGEST);
+        IdempotentResponseCache.Lookup duplicate = cache.lookup(OPERATION, "r1", JSON, DIGEST);
+
+        cache.complete(owner, null);
+
+        assertThat(duplicate.getResponse().get()).isNull();
+        assertThat(cache.lookup(OPERATION, "r1", JSON, DIGEST).getKind()).isEqualTo(IdempotentResponseCache.Lookup.Kind.OWNER);
+    }
+
+    @Test
+    void expiresEntriesAfterTheTtl() {
+        cache.complete(cache.lookup(OPERATION, "r1", JSON, DIGEST), response("X-Trace", "t1"));
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertThat(cache.lookup(OPERATION, "r1", JSON, DIGEST).getKind()).isEqualTo(IdempotentResponseCache.Lookup.Kind.HIT);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(cache.lookup(OPERATION, "r1", JSON, DIGEST).getKind()).isEqualTo(IdempotentResponseCache.Lookup.Kind.OWNER);
+    }
+
+    @Test
+    void evictsTheOldestEntryBeyondTheMaximumSize() {
+        cache.complete(cache.lookup(OPERATION, "r1", JSON, DIGEST), response("X-Trace", "t1"));
+        cache.complete(cache.lookup(OPERATION, "r2", JSON, DIGEST), response("X-Trace", "t2"));
+        cache.complete(cache.lookup(OPERATION, "r3", JSON, DIGEST), response("X-Trace", "t3"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.lookup(OPERATION, "r1", JSON, DIGEST).getKind()).isEqualTo(IdempotentResponseCache.Lookup.Kind.OWNER);
+    }
+
+    @Test
+    void keysByAcceptAndBypassesAReusedRequestIdWithAnotherBody() {
+        cache.complete(cache.lookup(OPERATION, "r1", JSON, DIGEST), response("X-Trace", "t1"));
+
+        assertThat(cache.lookup(OPERATION, "r1", "application/cbor", DIGEST).getKind())
+                .isEqualTo(IdempotentResponseCache.Lookup.Kind.OWNER);
+        assertThat(cache.lookup(OPERATION, "r1", JSON, IdempotentResponseCache.digest(new byte[0])).getKind())
+                .isEqualTo(IdempotentResponseCache.Lookup.Kind.BYPASS);
+    }
+
+    private static IdempotentResponseCache.CachedResponse response(String header, String value) {
+        Map<String, List<String>> headers = Collections.singletonMap(header, Collections.singletonList(value));
+        return new IdempotentResponseCache.CachedResponse(200, JSON, headers, "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+}
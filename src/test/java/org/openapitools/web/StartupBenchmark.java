@@ -0,0 +1,173 @@
+package org.openapitools.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openapitools.api.ExtensionOperation;
+import org.openapitools.api.OpenApiSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from starting the application's JVM to the first answered extension call, for the plain
+ * jar, the {@code lazy} profile and the AppCDS archive of {@code mvn -Pappcds package}. Build
+ * the jar (and the archive for the {@code appcds} setups) before running it. Each invocation
+ * starts a new JVM on a free port and polls validate-consent-access with its first
+ * openapi.yaml example; the readiness and first-call lines of {@link StartupReportFilter} are
+ * echoed to the benchmark output, together with any error the application reports.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final String BASE_PATH = "/wso2-f5b/OB4/1.0.0";
+    private static final File TARGET = new File("target");
+
+    @Param({"plain", "lazy", "appcds", "appcds-lazy"})
+    public String setup;
+
+    private byte[] body;
+    private Process process;
+
+    @Setup
+    public void setUp() throws IOException {
+        body = new ObjectMapper().writeValueAsBytes(
+                new OpenApiSpec().requestExamples(ExtensionOperation.VALIDATE_CONSENT_ACCESS).get(0));
+    }
+
+    @Benchmark
+    public int firstCallAnswered() throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(classPath(setup.startsWith("appcds")));
+        command.add("--server.port=" + port);
+        command.add("--openapi.extension.startup-report.enabled=true");
+        if (setup.endsWith("lazy")) {
+            command.add("--spring.profiles.active=lazy");
+        }
+        process = new ProcessBuilder(command).directory(TARGET).redirectErrorStream(true).start();
+        echoStartupReport(process);
+
+        URL url = new URL("http://localhost:" + port + BASE_PATH + "/validate-consent-access");
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue());
+            }
+            try {
+                return post(url);
+            } catch (IOException notListening) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    private static List<String> classPath(boolean appCds) {
+        File[] jars = TARGET.listFiles((dir, name) -> name.endsWith(".jar"));
+        if (jars == null || jars.length == 0) {
+            throw new IllegalStateException("No jar in target/, run mvn package first");
+        }
+        List<String> arguments = new ArrayList<>();
+        if (!appCds) {
+            File executable = jars[0];
+            for (File jar : jars) {
+                if (jar.getName().endsWith("-exec.jar")) {
+                    executable = jar;
+                }
+            }
+            arguments.add("-jar");
+            arguments.add(executable.getName());
+            return arguments;
+        }
+        File[] archives = new File(TARGET, "cds").listFiles((dir, name) -> name.endsWith(".jsa"));
+        if (archives == null || archives.length == 0) {
+            throw new IllegalStateException("No archive in target/cds, run mvn -Pappcds package first");
+        }
+        String archive = archives[0].getName();
+        arguments.add("-XX:SharedArchiveFile=cds/" + archive);
+        arguments.add("-cp");
+        arguments.add(archive.substring(0, archive.length() - ".jsa".length()) + ".jar"
+                + File.pathSeparator + "cds/lib/*");
+        arguments.add("org.openapitools.OpenApiGeneratorApplication");
+        return arguments;
+    }
+
+    private int post(URL url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setRequestProperty("Accept", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static void echoStartupReport(Process process) {
+        Thread echo = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line; (line = reader.readLine()) != null; ) {
+                    if (line.contains("after JVM start")) {
+                        System.out.println(line.substring(line.lastIndexOf(" : ") + 3));
+                    } else if (line.startsWith("Error") || line.contains(" ERROR ")) {
+                        System.out.println(line);
+                    }
+                }
+            } catch (IOException ignored) {
+                // The process was stopped.
+            }
+        }, "startup-report-echo");
+        echo.setDaemon(true);
+        echo.start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}